@@ -0,0 +1,47 @@
+package com.blog.alcoholblog;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.mapper.WineMapperImpl;
+import com.blog.alcoholblog.model.Wine;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Catalog-like rows shared by the JMH benchmarks, with descriptions of a realistic length.
+ */
+public final class BenchmarkWines {
+
+    private static final String DESCRIPTION = "Deep ruby with aromas of ripe cherry, plum and a hint of oak. "
+            + "Round tannins and a long, slightly spicy finish. Pairs well with grilled meat and aged cheese.";
+
+    private BenchmarkWines() {
+    }
+
+    public static List<Wine> wines(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Wine.builder()
+                        .id(UUID.randomUUID())
+                        .name("Benchmark Wine " + i)
+                        .year(1990 + i % 35)
+                        .color(i % 2 == 0 ? "Red" : "White")
+                        .state("Dry")
+                        .winery("Winery " + i % 50)
+                        .kind("Merlot")
+                        .sugar(1.5)
+                        .alcohol(13.5)
+                        .country("Serbia")
+                        .region("Fruska Gora")
+                        .score(50.0 + i % 50)
+                        .description(DESCRIPTION)
+                        .picture("https://images.example.com/wines/" + i + ".jpg")
+                        .version((long) i % 3)
+                        .build())
+                .toList();
+    }
+
+    public static List<WineResponseDTO> responses(int count) {
+        return new WineMapperImpl().toWineResponseDTOList(wines(count));
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.alcoholblog.controller;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing the {@code sortBy}/{@code sortOrder} request parameters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateSortBenchmark {
+
+    @Param({"ASC", "desc"})
+    private String sortOrder;
+
+    @Benchmark
+    public Sort createSort() {
+        return WineController.createSort("score", sortOrder);
+    }
+}
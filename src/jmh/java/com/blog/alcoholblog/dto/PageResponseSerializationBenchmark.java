@@ -0,0 +1,48 @@
+package com.blog.alcoholblog.dto;
+
+import com.blog.alcoholblog.BenchmarkWines;
+import com.blog.alcoholblog.cache.WineJsonFragments;
+import com.blog.alcoholblog.config.CacheConfig;
+import com.blog.alcoholblog.config.JacksonConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing one page of wines as the JSON body of {@code GET /wines}, serialized field by field or
+ * assembled from the cached {@link WineJsonFragments} of its (hot) wines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageResponseSerializationBenchmark {
+
+    @Param({"12", "48", "100"})
+    private int pageSize;
+
+    @Param({"false", "true"})
+    private boolean fragments;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDTO<WineResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = fragments
+                ? JsonMapper.builder().addModule(JacksonConfig.wineJsonFragmentsModule(
+                        new WineJsonFragments(new ConcurrentMapCacheManager(CacheConfig.WINE_FRAGMENTS)))).build()
+                : JsonMapper.builder().build();
+        page = new PageResponseDTO<>(BenchmarkWines.responses(pageSize), 1, 42, 42L * pageSize, pageSize, true, TotalsMode.EXACT);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
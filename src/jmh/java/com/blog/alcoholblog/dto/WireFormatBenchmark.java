@@ -0,0 +1,89 @@
+package com.blog.alcoholblog.dto;
+
+import com.blog.alcoholblog.BenchmarkWines;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes on the wire and CPU per page of {@code GET /wines} in each {@link WireFormat}, with and without gzip.
+ * {@code write} is the server producing a page, {@code read} a client decoding it. The encoded size of every
+ * combination is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<PageResponseDTO<WineResponseDTO>> PAGE = new TypeReference<>() {
+    };
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private WireFormat format;
+
+    @Param({"12", "100"})
+    private int pageSize;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDTO<WineResponseDTO> page;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case JSON -> JsonMapper.builder().build();
+            case CBOR -> CBORMapper.builder().build();
+            case SMILE -> SmileMapper.builder().build();
+        };
+        page = new PageResponseDTO<>(BenchmarkWines.responses(pageSize), 1, 42, 42L * pageSize, pageSize, true, TotalsMode.EXACT);
+        body = write();
+
+        System.out.printf("%n%s, %d wines%s: %d bytes%n", format, pageSize, gzip ? ", gzip" : "", body.length);
+    }
+
+    @Benchmark
+    public byte[] write() {
+        byte[] encoded = objectMapper.writeValueAsBytes(page);
+        return gzip ? gzip(encoded) : encoded;
+    }
+
+    @Benchmark
+    public PageResponseDTO<WineResponseDTO> read() {
+        return objectMapper.readValue(gzip ? gunzip(body) : body, PAGE);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one in-memory search page, filter, count and top 12, as the catalog grows. Scores, years and
+ * alcohol are spread like the seeded benchmark catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarCatalogSearchBenchmark {
+
+    private static final List<String> COLORS = List.of("Red", "White", "Rose");
+    private static final List<String> COUNTRIES = List.of("Serbia", "France", "Italy", "Spain", "Portugal",
+            "Germany", "Austria", "Hungary", "Chile", "Argentina");
+
+    private static final Map<String, WineSearchCriteriaDTO> CRITERIA = Map.of(
+            "none", new WineSearchCriteriaDTO(null, null, null, null, null, null, null, null, null, null, null),
+            "score", new WineSearchCriteriaDTO(null, null, null, null, null, null, null, 90.0, null, null, null),
+            "typical", new WineSearchCriteriaDTO(null, "red", null, null, "serbia", null, null, 80.0, null, null, null),
+            "ranges", new WineSearchCriteriaDTO(null, null, null, null, null, null, 2015, 70.0, 95.0, 12.0, 14.5)
+    );
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"none", "score", "typical", "ranges"})
+    private String filters;
+
+    private ColumnarCatalog catalog;
+    private WineSearchCriteriaDTO criteria;
+    private final Pageable pageable = PageRequest.of(0, 12, Sort.by("score").descending());
+
+    @Setup
+    public void setUp() {
+        catalog = new ColumnarCatalog(true);
+        Random random = new Random(rows);
+        for (int i = 0; i < rows; i++) {
+            String country = COUNTRIES.get(random.nextInt(COUNTRIES.size()));
+            catalog.put(new WineResponseDTO(new UUID(random.nextLong(), random.nextLong()).toString(), "Wine " + i,
+                    1980 + random.nextInt(45), COLORS.get(random.nextInt(COLORS.size())), "Dry", "Winery " + random.nextInt(rows / 20),
+                    "Merlot", random.nextDouble() * 40, 9 + random.nextDouble() * 7, country, country + " region " + random.nextInt(12),
+                    60 + random.nextDouble() * 40, null, null, 0L));
+        }
+        criteria = CRITERIA.get(filters);
+    }
+
+    @Benchmark
+    public ColumnarCatalog.ColumnarPage search() {
+        return catalog.search(criteria, pageable).orElseThrow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.blog.alcoholblog.mapper;
+
+import com.blog.alcoholblog.BenchmarkWines;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.model.Wine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one page of entities to response DTOs, as every list request does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WineMapperBenchmark {
+
+    @Param({"12", "48", "100"})
+    private int pageSize;
+
+    private final WineMapper wineMapper = new WineMapperImpl();
+    private List<Wine> wines;
+
+    @Setup
+    public void setUp() {
+        wines = BenchmarkWines.wines(pageSize);
+    }
+
+    @Benchmark
+    public List<WineResponseDTO> toWineResponseDTOList() {
+        return wineMapper.toWineResponseDTOList(wines);
+    }
+}
@@ -0,0 +1,66 @@
+package com.blog.alcoholblog.specification;
+
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.model.Wine;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning search criteria into Hibernate's criteria tree, from an unfiltered listing to every filter set.
+ * The session factory runs on in-memory H2; no statement is executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WineSpecificationBenchmark {
+
+    private static final Map<String, WineSearchCriteriaDTO> CRITERIA = Map.of(
+            "none", new WineSearchCriteriaDTO(null, null, null, null, null, null, null, null, null, null, null),
+            "typical", new WineSearchCriteriaDTO(null, "Red", null, null, "Serbia", null, null, 80.0, null, null, null),
+            "all", new WineSearchCriteriaDTO("Reserve", "Red", "Winery", "Merlot", "Serbia", "Fruska", 2018, 80.0, 95.0, 12.0, 14.5)
+    );
+
+    @Param({"none", "typical", "all"})
+    private String filters;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder cb;
+    private WineSearchCriteriaDTO criteriaDTO;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Wine.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:jmh;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .buildSessionFactory();
+        cb = sessionFactory.getCriteriaBuilder();
+        criteriaDTO = CRITERIA.get(filters);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        CriteriaQuery<Wine> query = cb.createQuery(Wine.class);
+        Root<Wine> root = query.from(Wine.class);
+        return WineSpecification.wineSpecification(criteriaDTO).toPredicate(root, query, cb);
+    }
+}
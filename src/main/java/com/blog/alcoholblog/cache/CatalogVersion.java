@@ -0,0 +1,60 @@
+package com.blog.alcoholblog.cache;
+
+import com.blog.alcoholblog.config.CacheConfig;
+import com.blog.alcoholblog.event.WineChangedEvent;
+import com.blog.alcoholblog.event.WinesCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic catalog version, bumped after every committed write. Cached search pages and facets are keyed by it,
+ * so a result computed before a write can never be served after it.
+ * <p>
+ * The same counter, prefixed with the boot time so a restart never reuses a tag, is the ETag of every
+ * list response: a client revalidating an unchanged catalog gets a 304 without a query being run.
+ */
+@Component("catalogVersion")
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private static final List<String> VERSIONED_CACHES = List.of(CacheConfig.WINE_PAGES, CacheConfig.WINE_FACETS);
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final CacheManager cacheManager;
+
+    public long current() {
+        return version.get();
+    }
+
+    public String etag() {
+        return bootId + "-" + version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWineChanged(WineChangedEvent event) {
+        bump();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWinesCreated(WinesCreatedEvent event) {
+        bump();
+    }
+
+    private void bump() {
+        version.incrementAndGet();
+
+        for (String cacheName : VERSIONED_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.alcoholblog.cache;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.json.JsonFactory;
+import tools.jackson.core.json.JsonGeneratorBase;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.StringWriter;
+
+/**
+ * Writes a {@link WineResponseDTO} as its cached JSON fragment from {@link WineJsonFragments}. The regular bean
+ * serializer renders missing fragments and still writes binary formats and pretty-printed output directly.
+ */
+public class WineJsonFragmentSerializer extends ValueSerializer<WineResponseDTO> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final WineJsonFragments fragments;
+    private final ValueSerializer<WineResponseDTO> delegate;
+
+    public WineJsonFragmentSerializer(WineJsonFragments fragments, ValueSerializer<WineResponseDTO> delegate) {
+        this.fragments = fragments;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void serialize(WineResponseDTO wine, JsonGenerator gen, SerializationContext ctxt) {
+        if (!(gen instanceof JsonGeneratorBase) || gen.getPrettyPrinter() != null) {
+            delegate.serialize(wine, gen, ctxt);
+            return;
+        }
+        gen.writeRawValue(fragments.get(wine, value -> render(value, ctxt)));
+    }
+
+    @Override
+    public void serializeWithType(WineResponseDTO wine, JsonGenerator gen, SerializationContext ctxt, TypeSerializer typeSer) {
+        delegate.serializeWithType(wine, gen, ctxt, typeSer);
+    }
+
+    @Override
+    public void resolve(SerializationContext ctxt) {
+        delegate.resolve(ctxt);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueSerializer<?> createContextual(SerializationContext ctxt, BeanProperty property) {
+        ValueSerializer<?> contextual = delegate.createContextual(ctxt, property);
+        return contextual == delegate ? this : new WineJsonFragmentSerializer(fragments, (ValueSerializer<WineResponseDTO>) contextual);
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return WineResponseDTO.class;
+    }
+
+    private String render(WineResponseDTO wine, SerializationContext ctxt) {
+        StringWriter json = new StringWriter(512);
+        try (JsonGenerator fragmentGenerator = JSON_FACTORY.createGenerator(ObjectWriteContext.empty(), json)) {
+            delegate.serialize(wine, fragmentGenerator, ctxt);
+        }
+        return json.toString();
+    }
+}
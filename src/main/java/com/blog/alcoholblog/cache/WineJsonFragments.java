@@ -0,0 +1,55 @@
+package com.blog.alcoholblog.cache;
+
+import com.blog.alcoholblog.config.CacheConfig;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.event.WineChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Each wine's JSON object as last written, keyed by id and checked against the version, so list and detail
+ * responses copy hot wines into the body instead of serializing them field by field again.
+ */
+@Component
+public class WineJsonFragments {
+
+    private final Cache cache;
+
+    public WineJsonFragments(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.WINE_FRAGMENTS);
+    }
+
+    /**
+     * The JSON of {@code wine}, rendered with {@code render} unless this version of it is cached already.
+     */
+    public SerializableString get(WineResponseDTO wine, Function<WineResponseDTO, String> render) {
+        if (cache == null || wine.id() == null || wine.version() == null) {
+            return new SerializedString(render.apply(wine));
+        }
+
+        UUID id = UUID.fromString(wine.id());
+        Fragment fragment = cache.get(id, Fragment.class);
+        if (fragment == null || fragment.version() != wine.version()) {
+            fragment = new Fragment(wine.version(), new SerializedString(render.apply(wine)));
+            cache.put(id, fragment);
+        }
+        return fragment.json();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWineChanged(WineChangedEvent event) {
+        if (cache != null) {
+            cache.evict(event.id());
+        }
+    }
+
+    public record Fragment(long version, SerializedString json) {
+    }
+}
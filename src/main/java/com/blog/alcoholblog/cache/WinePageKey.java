@@ -0,0 +1,40 @@
+package com.blog.alcoholblog.cache;
+
+import com.blog.alcoholblog.dto.TotalsMode;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Cache key of one {@code GET /wines} page: catalog version, canonical criteria, page, size, sort, totals mode
+ * and the selected fields ({@code null} for full wines).
+ */
+public record WinePageKey(
+        long catalogVersion,
+        WineSearchCriteriaDTO criteria,
+        int pageNumber,
+        int pageSize,
+        Sort sort,
+        TotalsMode totals,
+        List<String> fields
+) {
+
+    public static WinePageKey of(long catalogVersion, WineSearchCriteriaDTO criteriaDTO, Pageable pageable, TotalsMode totals) {
+        return of(catalogVersion, criteriaDTO, pageable, totals, null);
+    }
+
+    public static WinePageKey of(long catalogVersion, WineSearchCriteriaDTO criteriaDTO, Pageable pageable, TotalsMode totals,
+                                 List<String> fields) {
+        return new WinePageKey(
+                catalogVersion,
+                criteriaDTO.normalized(),
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                pageable.getSort(),
+                totals,
+                fields
+        );
+    }
+}
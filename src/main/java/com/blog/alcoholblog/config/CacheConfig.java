@@ -0,0 +1,88 @@
+package com.blog.alcoholblog.config;
+
+import com.blog.alcoholblog.cache.WineJsonFragments;
+import com.blog.alcoholblog.dto.PageResponseDTO;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Caching advice is ordered outside the transaction advice, so {@code @CachePut}/{@code @CacheEvict}
+ * on write methods only run once the transaction has committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String WINES = "wines";
+    public static final String WINE_COUNTS = "wineCounts";
+    public static final String WINE_PAGES = "winePages";
+    public static final String WINE_FACETS = "wineFacets";
+    public static final String WINE_FRAGMENTS = "wineFragments";
+
+    private static final int OBJECT_OVERHEAD_BYTES = 16;
+    private static final int WINE_FIXED_BYTES = 200;
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> wineCacheCustomizer(@Value("${app.cache.wines}") String winesSpec,
+                                                                           @Value("${app.cache.wine-counts}") String wineCountsSpec,
+                                                                           @Value("${app.cache.wine-pages}") String winePagesSpec,
+                                                                           @Value("${app.cache.wine-facets}") String wineFacetsSpec,
+                                                                           @Value("${app.cache.wine-fragments}") String wineFragmentsSpec) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(WINES, Caffeine.from(winesSpec).build());
+            cacheManager.registerCustomCache(WINE_COUNTS, Caffeine.from(wineCountsSpec).build());
+            cacheManager.registerCustomCache(WINE_PAGES, Caffeine.from(winePagesSpec)
+                    .weigher((Object key, Object page) -> estimateBytes(page))
+                    .build());
+            cacheManager.registerCustomCache(WINE_FACETS, Caffeine.from(wineFacetsSpec).build());
+            // A fragment holds its JSON as chars and, once written, as UTF-8 bytes
+            cacheManager.registerCustomCache(WINE_FRAGMENTS, Caffeine.from(wineFragmentsSpec)
+                    .weigher((Object id, Object fragment) -> OBJECT_OVERHEAD_BYTES * 4
+                            + 3 * ((WineJsonFragments.Fragment) fragment).json().charLength())
+                    .build());
+        };
+    }
+
+    /**
+     * Rough retained size of a cached page, used as its weight against {@code maximumWeight} (bytes).
+     */
+    static int estimateBytes(Object value) {
+        if (!(value instanceof PageResponseDTO<?> page)) {
+            return OBJECT_OVERHEAD_BYTES;
+        }
+        long bytes = OBJECT_OVERHEAD_BYTES * 4L;
+        for (Object item : page.content()) {
+            if (item instanceof WineResponseDTO wine) {
+                bytes += estimateBytes(wine);
+            } else if (item instanceof Map<?, ?> fields) {
+                bytes += estimateBytes(fields);
+            } else {
+                bytes += OBJECT_OVERHEAD_BYTES;
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long estimateBytes(Map<?, ?> fields) {
+        return OBJECT_OVERHEAD_BYTES * 3L + fields.values().stream()
+                .mapToLong(value -> value instanceof String text ? OBJECT_OVERHEAD_BYTES * 3L + 2L * text.length() : OBJECT_OVERHEAD_BYTES * 3L)
+                .sum();
+    }
+
+    private static long estimateBytes(WineResponseDTO wine) {
+        return WINE_FIXED_BYTES + Stream.of(wine.id(), wine.name(), wine.color(), wine.state(), wine.winery(), wine.kind(),
+                        wine.country(), wine.region(), wine.description(), wine.picture())
+                .mapToLong(text -> text == null ? 0 : OBJECT_OVERHEAD_BYTES + 2L * text.length())
+                .sum();
+    }
+}
@@ -0,0 +1,39 @@
+package com.blog.alcoholblog.config;
+
+import com.blog.alcoholblog.cache.WineJsonFragmentSerializer;
+import com.blog.alcoholblog.cache.WineJsonFragments;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.BeanDescription;
+import tools.jackson.databind.SerializationConfig;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.databind.ser.ValueSerializerModifier;
+
+/**
+ * Only the JSON mapper writes wines from cached fragments, the CBOR and Smile mappers serialize them as usual.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public JsonMapperBuilderCustomizer wineJsonFragmentsCustomizer(WineJsonFragments wineJsonFragments) {
+        return builder -> builder.addModule(wineJsonFragmentsModule(wineJsonFragments));
+    }
+
+    public static SimpleModule wineJsonFragmentsModule(WineJsonFragments wineJsonFragments) {
+        return new SimpleModule("wine-json-fragments").setSerializerModifier(new ValueSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public ValueSerializer<?> modifySerializer(SerializationConfig config, BeanDescription.Supplier beanDesc,
+                                                       ValueSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() != WineResponseDTO.class) {
+                    return serializer;
+                }
+                return new WineJsonFragmentSerializer(wineJsonFragments, (ValueSerializer<WineResponseDTO>) serializer);
+            }
+        });
+    }
+}
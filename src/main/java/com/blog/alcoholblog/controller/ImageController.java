@@ -0,0 +1,145 @@
+package com.blog.alcoholblog.controller;
+
+import com.blog.alcoholblog.dto.ImageSize;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WireFormat;
+import com.blog.alcoholblog.exception.ImageNotFoundException;
+import com.blog.alcoholblog.services.WineImageService;
+import com.blog.alcoholblog.storage.ImageStorage.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Picture uploads and the stored images. Files are sent with Tomcat's sendfile when the connector offers it, which
+ * moves them from the page cache to the socket without passing through the JVM. Where it doesn't, for example
+ * over TLS, they are copied through the response stream.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Image URLs are content addressed, a given URL never changes
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    private final WineImageService wineImageService;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    @PutMapping(value = "/wines/{id}/picture", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE})
+    public ResponseEntity<WineResponseDTO> uploadPicture(@PathVariable UUID id,
+                                                         @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                         InputStream body,
+                                                         NativeWebRequest webRequest) throws IOException {
+        WineResponseDTO wine = wineImageService.upload(id, contentType, body);
+        return ResponseEntity.ok()
+                .eTag(WireFormat.etag(String.valueOf(wine.version()), contentNegotiationManager, webRequest))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(wine);
+    }
+
+    @GetMapping({"/images/{key}", "/images/{key}/{size}"})
+    public void getImage(@PathVariable String key,
+                         @PathVariable(required = false) String size,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        ImageSize requested = imageSize(size);
+        StoredImage image = wineImageService.find(key, requested);
+
+        // Until the thumbnail exists the original stands in, which must not be cached under the thumbnail's URL
+        response.setHeader(HttpHeaders.CACHE_CONTROL, image.size() == requested ? IMMUTABLE : CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + key + "-" + image.size().path() + "\"")) {
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            long length = file.size();
+            long start = 0;
+            long end = length - 1;
+
+            List<HttpRange> ranges = parseRanges(request.getHeader(HttpHeaders.RANGE));
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.getFirst();
+                start = range.getRangeStart(length);
+                if (start >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                end = range.getRangeEnd(length);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+
+            long count = end - start + 1;
+            response.setContentType(image.mediaType().toString());
+            response.setContentLengthLong(count);
+            if ("HEAD".equals(request.getMethod()) || count == 0) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // Tomcat writes the file after this method returns, straight from the page cache to the socket
+                request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long transferred = file.transferTo(position, end + 1 - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static ImageSize imageSize(String size) {
+        try {
+            return ImageSize.fromString(size);
+        } catch (IllegalArgumentException ex) {
+            throw new ImageNotFoundException("Image size " + size + " not found");
+        }
+    }
+
+    // Multiple ranges would need a multipart body, they are answered with the whole file instead
+    private static List<HttpRange> parseRanges(String header) {
+        if (header == null) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException ex) {
+            return List.of();
+        }
+    }
+}
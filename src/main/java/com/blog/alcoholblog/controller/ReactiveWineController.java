@@ -0,0 +1,45 @@
+package com.blog.alcoholblog.controller;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.exception.WineNotFoundException;
+import com.blog.alcoholblog.repository.ReactiveWineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Read-only twin of {@code GET /wines} and {@code GET /wines/{id}} on {@link ReactiveWineRepository}. Listings are
+ * written as NDJSON one wine at a time, the next row is only requested once the previous one has been written.
+ */
+@RestController
+@RequestMapping("/reactive/wines")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveWineController {
+
+    private final ReactiveWineRepository reactiveWineRepository;
+
+    @GetMapping("/{id}")
+    public Mono<WineResponseDTO> getWineById(@PathVariable String id) {
+        return reactiveWineRepository.findById(UUID.fromString(id))
+                .switchIfEmpty(Mono.error(() -> new WineNotFoundException(id)));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<WineResponseDTO> getAllWines(@RequestParam(required = false, defaultValue = "1") int pageNo,
+                                             @RequestParam(required = false, defaultValue = "12") int pageSize,
+                                             @RequestParam(required = false, defaultValue = "name") String sortBy,
+                                             @RequestParam(required = false, defaultValue = "ASC") String sortOrder,
+                                             @ModelAttribute WineSearchCriteriaDTO criteriaDTO) {
+        PageRequest pageRequest = PageRequest.of(pageNo - 1, pageSize, WineController.createSort(sortBy, sortOrder));
+
+        return reactiveWineRepository.findAll(criteriaDTO, pageRequest);
+    }
+}
@@ -1,17 +1,46 @@
 package com.blog.alcoholblog.controller;
 
+import com.blog.alcoholblog.cache.CatalogVersion;
 import com.blog.alcoholblog.dto.*;
+import com.blog.alcoholblog.exception.InvalidCursorException;
+import com.blog.alcoholblog.exception.PreconditionFailedException;
+import com.blog.alcoholblog.metrics.WineSearchMetrics;
+import com.blog.alcoholblog.pagination.WineCursor;
+import com.blog.alcoholblog.projection.WineFacets;
+import com.blog.alcoholblog.projection.WineFields;
+import com.blog.alcoholblog.services.WineBatchService;
+import com.blog.alcoholblog.services.WineExportService;
+import com.blog.alcoholblog.services.WineRankingService;
 import com.blog.alcoholblog.services.WineService;
+import com.blog.alcoholblog.services.WineSimilarityService;
+import com.blog.alcoholblog.services.WineSuggestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/wines")
@@ -19,24 +48,161 @@ import java.util.UUID;
 public class WineController {
 
     private final WineService wineService;
+    private final WineBatchService wineBatchService;
+    private final WineExportService wineExportService;
+    private final WineRankingService wineRankingService;
+    private final WineSimilarityService wineSimilarityService;
+    private final WineSuggestionService wineSuggestionService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final WineSearchMetrics wineSearchMetrics;
+    private final ContentNegotiationManager contentNegotiationManager;
 
     @GetMapping("/{id}")
-    public ResponseEntity<WineResponseDTO> getWineById(@Valid @PathVariable String id) {
+    public ResponseEntity<WineResponseDTO> getWineById(@Valid @PathVariable String id, WebRequest webRequest) {
         WineResponseDTO wine = wineService.getWineById(UUID.fromString(id));
 
-        return ResponseEntity.ok(wine);
+        // A matching If-None-Match is answered with 304 before the body is written
+        return ResponseEntity.ok()
+                .eTag(etag(String.valueOf(wine.version()), webRequest))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(wine);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestionsResponseDTO> suggest(@RequestParam String field,
+                                                          @RequestParam String prefix,
+                                                          @RequestParam(required = false, defaultValue = "10") int limit,
+                                                          WebRequest webRequest) {
+        String etag = etag(catalogVersion.etag(), webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(wineSuggestionService.suggest(SuggestField.fromString(field), prefix, limit));
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<WineResponseDTO>> getSimilarWines(@PathVariable UUID id,
+                                                                 @RequestParam(required = false, defaultValue = "10") int limit,
+                                                                 WebRequest webRequest) {
+        // Scoped to the wine: a tag is only ever issued for a wine that exists, and deleting it moves the catalog on
+        String etag = etag(catalogVersion.etag() + "-" + id, webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(wineSimilarityService.getSimilarWines(id, limit));
     }
 
     @GetMapping
-    public ResponseEntity<PageResponseDTO<WineResponseDTO>> getAllWines(@RequestParam(required = false, defaultValue = "1") int pageNo,
-                                                                        @RequestParam(required = false, defaultValue = "12") int pageSize,
-                                                                        @RequestParam(required = false, defaultValue = "name") String sortBy,
-                                                                        @RequestParam(required = false, defaultValue = "ASC") String sortOrder,
-                                                                        @ModelAttribute WineSearchCriteriaDTO criteriaDTO) {
+    public ResponseEntity<PageResponseDTO<?>> getAllWines(@RequestParam(required = false, defaultValue = "1") int pageNo,
+                                                          @RequestParam(required = false, defaultValue = "12") int pageSize,
+                                                          @RequestParam(required = false, defaultValue = "name") String sortBy,
+                                                          @RequestParam(required = false, defaultValue = "ASC") String sortOrder,
+                                                          @RequestParam(required = false, defaultValue = "exact") String totals,
+                                                          @RequestParam(required = false) String fields,
+                                                          @ModelAttribute WineSearchCriteriaDTO criteriaDTO,
+                                                          WebRequest webRequest) {
 
         PageRequest pageRequest = PageRequest.of(pageNo - 1, pageSize, createSort(sortBy, sortOrder));
+        wineSearchMetrics.recordSearch(criteriaDTO, pageSize, pageRequest.getSort());
+
+        String etag = etag(catalogVersion.etag(), webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(wineService.getAllWines(pageRequest, criteriaDTO));
+        TotalsMode totalsMode = TotalsMode.fromString(totals);
+        PageResponseDTO<?> page = fields != null
+                ? wineService.getAllWineFields(pageRequest, criteriaDTO, totalsMode, WineFields.parse(fields))
+                : wineService.getAllWines(pageRequest, criteriaDTO, totalsMode);
+
+        wineSearchMetrics.recordRows("page", page.content().size());
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponseDTO<WineResponseDTO>> getWinesByCursor(@RequestParam String cursor,
+                                                                                 @RequestParam(required = false, defaultValue = "12") int pageSize,
+                                                                                 @RequestParam(required = false, defaultValue = "name") String sortBy,
+                                                                                 @RequestParam(required = false, defaultValue = "ASC") String sortOrder,
+                                                                                 @ModelAttribute WineSearchCriteriaDTO criteriaDTO,
+                                                                                 WebRequest webRequest) {
+
+        Sort sort = createSort(sortBy, sortOrder);
+        wineSearchMetrics.recordSearch(criteriaDTO, pageSize, sort);
+
+        String etag = etag(catalogVersion.etag(), webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        WineCursor wineCursor = cursor.isBlank() ? WineCursor.first(sort) : WineCursor.decode(cursor);
+        if (!wineCursor.sort().equals(sort)) {
+            throw new InvalidCursorException("Cursor was issued for a different sort");
+        }
+
+        CursorPageResponseDTO<WineResponseDTO> page = wineService.getWinesByCursor(wineCursor, pageSize, criteriaDTO);
+        wineSearchMetrics.recordRows("cursor", page.content().size());
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(page);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetsResponseDTO> getFacets(@RequestParam(required = false, defaultValue = "color,country,kind,region,year") String facets,
+                                                       @ModelAttribute WineSearchCriteriaDTO criteriaDTO,
+                                                       WebRequest webRequest) {
+        wineSearchMetrics.recordFilters(criteriaDTO);
+
+        String etag = etag(catalogVersion.etag(), webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(wineService.getFacets(criteriaDTO, WineFacets.parse(facets)));
+    }
+
+    @GetMapping("/rankings")
+    public ResponseEntity<RankingsResponseDTO> getRankings(@RequestParam(required = false) String by,
+                                                           @RequestParam(required = false) String value,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestParam(required = false, defaultValue = "10") int limit,
+                                                           WebRequest webRequest) {
+        String etag = etag(catalogVersion.etag(), webRequest);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        RankingDimension dimension = by == null ? null : RankingDimension.fromString(by);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(wineRankingService.getRankings(dimension, StringUtils.hasText(value) ? value.trim() : null,
+                        StringUtils.hasText(after) ? after : null, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportWines(@RequestParam(required = false, defaultValue = "ndjson") String format,
+                                                             @ModelAttribute WineSearchCriteriaDTO criteriaDTO) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        StreamingResponseBody body = outputStream -> wineExportService.export(criteriaDTO, exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("wines." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @PostMapping
@@ -52,10 +218,32 @@ public class WineController {
         return ResponseEntity.created(location).body(createdWine);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchCreateResponseDTO> createWines(@RequestBody List<CreateWineRequestDTO> createWineRequestDTOs) {
+        return ResponseEntity.ok(wineBatchService.createWines(createWineRequestDTOs.stream()));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BatchCreateResponseDTO> createWinesFromNdjson(InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Stream<CreateWineRequestDTO> items = reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(this::readNdjsonLine);
+
+            return ResponseEntity.ok(wineBatchService.createWines(items));
+        }
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<WineResponseDTO> updateWine(@Valid @PathVariable UUID id, @RequestBody UpdateWineRequestDTO updateWineRequestDTO) {
-        WineResponseDTO updatedWine = wineService.updateWine(id, updateWineRequestDTO);
-        return ResponseEntity.ok(updatedWine);
+    public ResponseEntity<WineResponseDTO> updateWine(@Valid @PathVariable UUID id,
+                                                      @Valid @RequestBody UpdateWineRequestDTO updateWineRequestDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      WebRequest webRequest) {
+        WineResponseDTO updatedWine = wineService.updateWine(id, updateWineRequestDTO, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(etag(String.valueOf(updatedWine.version()), webRequest))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updatedWine);
     }
 
     @DeleteMapping("/{id}")
@@ -64,7 +252,46 @@ public class WineController {
         return ResponseEntity.noContent().build();
     }
 
-    private Sort createSort(String sortBy, String sortOrder) {
+    private CreateWineRequestDTO readNdjsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, CreateWineRequestDTO.class);
+        } catch (JacksonException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * The ETag of a response with this tag in the format negotiated for the request.
+     */
+    private String etag(String tag, WebRequest webRequest) {
+        return WireFormat.etag(tag, contentNegotiationManager, (NativeWebRequest) webRequest);
+    }
+
+    /**
+     * Turns an {@code If-Match} header into the wine version the client last saw, whichever format it was read in.
+     * Tomcat weakens the ETag of every compressed response, so a weak tag is accepted too: the version it carries
+     * still identifies the representation exactly, only the content coding differs.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single ETag");
+        }
+        try {
+            return Long.parseLong(WireFormat.baseTag(tag.substring(1, tag.length() - 1)));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match does not match any version of this wine");
+        }
+    }
+
+    static Sort createSort(String sortBy, String sortOrder) {
         Sort sort;
         if (sortOrder.equalsIgnoreCase("ASC")) {
             sort = Sort.by(sortBy).ascending();
@@ -0,0 +1,10 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.List;
+
+public record BatchCreateResponseDTO(
+        int received,
+        int created,
+        int failed,
+        List<BatchItemResultDTO> results
+) { }
@@ -0,0 +1,10 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.Map;
+
+public record BatchItemResultDTO(
+        int index,
+        BatchItemStatus status,
+        String id,
+        Map<String, String> errors
+) { }
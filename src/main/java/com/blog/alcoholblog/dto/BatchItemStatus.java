@@ -0,0 +1,7 @@
+package com.blog.alcoholblog.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    INVALID,
+    FAILED
+}
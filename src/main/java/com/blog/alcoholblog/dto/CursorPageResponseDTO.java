@@ -0,0 +1,10 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.List;
+
+public record CursorPageResponseDTO<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext,
+        int size
+) { }
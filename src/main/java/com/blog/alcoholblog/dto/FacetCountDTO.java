@@ -0,0 +1,6 @@
+package com.blog.alcoholblog.dto;
+
+public record FacetCountDTO(
+        Object value,
+        long count
+) { }
@@ -0,0 +1,9 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record FacetsResponseDTO(
+        long totalElements,
+        Map<String, List<FacetCountDTO>> facets
+) { }
@@ -0,0 +1,59 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Renditions of an uploaded wine picture. Thumbnails fit into a square of {@code maxDimension} pixels and are
+ * served at {@code /images/{key}/{size}}, the original at {@code /images/{key}}.
+ */
+public enum ImageSize {
+    SMALL(160),
+    MEDIUM(480),
+    LARGE(1024),
+    ORIGINAL(0);
+
+    public static final String URL_PREFIX = "/images/";
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int maxDimension() {
+        return maxDimension;
+    }
+
+    public String path() {
+        return name().toLowerCase();
+    }
+
+    public static ImageSize fromString(String value) {
+        if (value == null) {
+            return ORIGINAL;
+        }
+        for (ImageSize size : values()) {
+            if (size.path().equalsIgnoreCase(value)) {
+                return size;
+            }
+        }
+        throw new IllegalArgumentException("Invalid image size");
+    }
+
+    /**
+     * Thumbnail URLs by size for a picture stored here, {@code null} for pictures that link elsewhere.
+     */
+    public static Map<String, String> thumbnails(String picture) {
+        if (picture == null || !picture.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (ImageSize size : values()) {
+            if (size != ORIGINAL) {
+                urls.put(size.path(), picture + "/" + size.path());
+            }
+        }
+        return urls;
+    }
+}
@@ -5,7 +5,9 @@ import java.util.List;
 public record PageResponseDTO<T>(
         List<T> content,
         int currentPage,
-        int totalPages,
-        long totalElements,
-        int size
+        Integer totalPages,
+        Long totalElements,
+        int size,
+        boolean hasNext,
+        TotalsMode totals
 ) { }
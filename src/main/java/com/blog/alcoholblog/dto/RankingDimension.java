@@ -0,0 +1,32 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.function.Function;
+
+/**
+ * What {@code GET /wines/rankings?by=...} groups the top rated wines by.
+ */
+public enum RankingDimension {
+    COUNTRY(WineResponseDTO::country),
+    REGION(WineResponseDTO::region),
+    COLOR(WineResponseDTO::color),
+    YEAR(wine -> wine.year() == null ? null : wine.year().toString());
+
+    private final Function<WineResponseDTO, String> value;
+
+    RankingDimension(Function<WineResponseDTO, String> value) {
+        this.value = value;
+    }
+
+    public String valueOf(WineResponseDTO wine) {
+        return value.apply(wine);
+    }
+
+    public static RankingDimension fromString(String value) {
+        for (RankingDimension dimension : values()) {
+            if (dimension.name().equalsIgnoreCase(value)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Invalid by parameter");
+    }
+}
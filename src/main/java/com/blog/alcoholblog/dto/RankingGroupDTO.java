@@ -0,0 +1,8 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.List;
+
+public record RankingGroupDTO(
+        String value,
+        List<WineResponseDTO> wines
+) { }
@@ -0,0 +1,10 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.List;
+
+public record RankingsResponseDTO(
+        String by,
+        int limit,
+        List<RankingGroupDTO> groups,
+        String next
+) { }
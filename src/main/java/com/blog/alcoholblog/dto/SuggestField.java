@@ -0,0 +1,31 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.function.Function;
+
+/**
+ * What {@code GET /wines/suggest?field=...} completes.
+ */
+public enum SuggestField {
+    NAME(WineResponseDTO::name),
+    WINERY(WineResponseDTO::winery),
+    REGION(WineResponseDTO::region);
+
+    private final Function<WineResponseDTO, String> value;
+
+    SuggestField(Function<WineResponseDTO, String> value) {
+        this.value = value;
+    }
+
+    public String valueOf(WineResponseDTO wine) {
+        return value.apply(wine);
+    }
+
+    public static SuggestField fromString(String value) {
+        for (SuggestField field : values()) {
+            if (field.name().equalsIgnoreCase(value)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Invalid field parameter");
+    }
+}
@@ -0,0 +1,7 @@
+package com.blog.alcoholblog.dto;
+
+public record SuggestionDTO(
+        String value,
+        Double score,
+        int wines
+) { }
@@ -0,0 +1,9 @@
+package com.blog.alcoholblog.dto;
+
+import java.util.List;
+
+public record SuggestionsResponseDTO(
+        String field,
+        String prefix,
+        List<SuggestionDTO> suggestions
+) { }
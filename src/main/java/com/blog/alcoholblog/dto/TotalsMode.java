@@ -0,0 +1,16 @@
+package com.blog.alcoholblog.dto;
+
+public enum TotalsMode {
+    EXACT,
+    ESTIMATED,
+    NONE;
+
+    public static TotalsMode fromString(String value) {
+        for (TotalsMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Invalid totals parameter");
+    }
+}
@@ -1,18 +1,54 @@
 package com.blog.alcoholblog.dto;
 
 
+import jakarta.validation.constraints.Pattern;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public record UpdateWineRequestDTO(
-        String name,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String name,
         Integer year,
-        String color,
-        String state,
-        String winery,
-        String kind,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String color,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String state,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String winery,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String kind,
         Double sugar,
         Double alcohol,
-        String country,
-        String region,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String country,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String region,
         Double score,
-        String description,
-        String picture
-) { }
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String description,
+        @Pattern(regexp = UpdateWineRequestDTO.NOT_BLANK, message = "must not be blank") String picture
+) {
+
+    // Absent fields stay untouched, present ones follow Wine's @NotBlank, which the targeted UPDATE bypasses
+    static final String NOT_BLANK = "(?s).*\\S.*";
+
+    /**
+     * The fields this patch sets, keyed by {@code Wine} property name. Null fields are left untouched.
+     */
+    public Map<String, Object> changes() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfPresent(changes, "name", name);
+        putIfPresent(changes, "year", year);
+        putIfPresent(changes, "color", color);
+        putIfPresent(changes, "state", state);
+        putIfPresent(changes, "winery", winery);
+        putIfPresent(changes, "kind", kind);
+        putIfPresent(changes, "sugar", sugar);
+        putIfPresent(changes, "alcohol", alcohol);
+        putIfPresent(changes, "country", country);
+        putIfPresent(changes, "region", region);
+        putIfPresent(changes, "score", score);
+        putIfPresent(changes, "description", description);
+        putIfPresent(changes, "picture", picture);
+        return changes;
+    }
+
+    private static void putIfPresent(Map<String, Object> changes, String property, Object value) {
+        if (value != null) {
+            changes.put(property, value);
+        }
+    }
+}
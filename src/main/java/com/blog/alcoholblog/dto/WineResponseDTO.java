@@ -1,5 +1,9 @@
 package com.blog.alcoholblog.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
 
 public record WineResponseDTO(
         String id,
@@ -15,5 +19,16 @@ public record WineResponseDTO(
         String region,
         Double score,
         String description,
-        String picture
-) { }
\ No newline at end of file
+        String picture,
+        Long version
+) {
+
+    /**
+     * Small renditions of an uploaded picture, so grids don't load the original.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Map<String, String> thumbnails() {
+        return ImageSize.thumbnails(picture);
+    }
+}
@@ -2,6 +2,7 @@ package com.blog.alcoholblog.dto;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.util.StringUtils;
 
 public record WineSearchCriteriaDTO(
         String name,
@@ -15,4 +16,32 @@ public record WineSearchCriteriaDTO(
         @Min(0) @Max(100)Double maxScore,
         @Min(0) @Max(100)Double minAlcohol,
         @Min(0) @Max(100)Double maxAlcohol
-) { }
+) {
+
+    /**
+     * Canonical form used as a cache key: text filters trimmed and lower-cased, blanks dropped.
+     */
+    public WineSearchCriteriaDTO normalized() {
+        return new WineSearchCriteriaDTO(
+                normalize(name),
+                normalize(color),
+                normalize(winery),
+                normalize(kind),
+                normalize(country),
+                normalize(region),
+                year,
+                minScore,
+                maxScore,
+                minAlcohol,
+                maxAlcohol
+        );
+    }
+
+    public boolean isEmpty() {
+        return equals(new WineSearchCriteriaDTO(null, null, null, null, null, null, null, null, null, null, null));
+    }
+
+    private static String normalize(String value) {
+        return StringUtils.hasText(value) ? value.trim().toLowerCase() : null;
+    }
+}
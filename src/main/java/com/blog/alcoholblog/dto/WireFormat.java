@@ -0,0 +1,77 @@
+package com.blog.alcoholblog.dto;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * Body formats of the catalog endpoints, chosen through {@code Accept} and {@code Content-Type}. The binary formats
+ * carry the same fields as JSON without repeating field names as text or printing numbers as decimals.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * The format a response to these accepted media types, most preferred first, is written in.
+     */
+    public static WireFormat negotiate(List<MediaType> acceptedMediaTypes) {
+        for (MediaType accepted : acceptedMediaTypes) {
+            for (WireFormat format : values()) {
+                if (format != JSON && accepted.equalsTypeAndSubtype(format.mediaType)) {
+                    return format;
+                }
+            }
+            if (accepted.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return JSON;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * A strong ETag has to differ between representations, so binary bodies get their format appended to the tag.
+     */
+    public String etag(String tag) {
+        return this == JSON ? tag : tag + "-" + name().toLowerCase();
+    }
+
+    /**
+     * The ETag of a response with this tag in the format negotiated for the request, the plain tag when the request
+     * accepts none of them.
+     */
+    public static String etag(String tag, ContentNegotiationManager contentNegotiationManager, NativeWebRequest request) {
+        try {
+            return negotiate(contentNegotiationManager.resolveMediaTypes(request)).etag(tag);
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return tag;
+        }
+    }
+
+    /**
+     * The tag {@link #etag} was called with, for ETags sent back by clients of any format.
+     */
+    public static String baseTag(String etag) {
+        for (WireFormat format : values()) {
+            String suffix = format.etag("");
+            if (format != JSON && etag.endsWith(suffix)) {
+                return etag.substring(0, etag.length() - suffix.length());
+            }
+        }
+        return etag;
+    }
+}
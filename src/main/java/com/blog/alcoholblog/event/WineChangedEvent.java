@@ -0,0 +1,24 @@
+package com.blog.alcoholblog.event;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link com.blog.alcoholblog.services.WineService} whenever a wine is created, updated or deleted.
+ * {@code wine} holds the new state and is {@code null} when the wine was deleted.
+ */
+public record WineChangedEvent(UUID id, WineResponseDTO wine) {
+
+    public static WineChangedEvent saved(WineResponseDTO wine) {
+        return new WineChangedEvent(UUID.fromString(wine.id()), wine);
+    }
+
+    public static WineChangedEvent deleted(UUID id) {
+        return new WineChangedEvent(id, null);
+    }
+
+    public boolean isDeleted() {
+        return wine == null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.blog.alcoholblog.event;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.blog.alcoholblog.services.WineBatchService} once per inserted chunk, so listeners react to
+ * a batch once instead of once per wine.
+ */
+public record WinesCreatedEvent(List<WineResponseDTO> wines) {
+}
@@ -0,0 +1,7 @@
+package com.blog.alcoholblog.exception;
+
+public class ImageNotFoundException extends RuntimeException {
+    public ImageNotFoundException(String message) {
+        super(message);
+    }
+}
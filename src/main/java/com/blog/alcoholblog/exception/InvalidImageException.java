@@ -0,0 +1,7 @@
+package com.blog.alcoholblog.exception;
+
+public class InvalidImageException extends RuntimeException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
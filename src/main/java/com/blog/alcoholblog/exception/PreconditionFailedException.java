@@ -0,0 +1,7 @@
+package com.blog.alcoholblog.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+
+import java.util.UUID;
+
+/**
+ * An in-memory structure over the whole catalog, filled by {@link CatalogIndexLoader} at startup and kept in step
+ * with every committed write after that. Implementations guard their own state, as reads and writes arrive on
+ * request threads concurrently.
+ */
+public interface CatalogIndex {
+
+    void clear();
+
+    /**
+     * Adds the wine, or replaces what is indexed for a wine with the same id.
+     */
+    void put(WineResponseDTO wine);
+
+    void remove(UUID id);
+}
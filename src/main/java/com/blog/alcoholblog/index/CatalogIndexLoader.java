@@ -0,0 +1,83 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.event.WineChangedEvent;
+import com.blog.alcoholblog.event.WinesCreatedEvent;
+import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fills every {@link CatalogIndex} from one pass over the wines table before the server accepts requests, then
+ * applies each committed {@link WineChangedEvent} and {@link WinesCreatedEvent}. Loading and applying events are serialized, so an event that
+ * commits while the table is being read is applied after the load and can't be overwritten by an older row.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogIndexLoader implements SmartInitializingSingleton {
+
+    private final List<CatalogIndex> indexes;
+    private final WineRepository wineRepository;
+    private final WineMapper wineMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Rebuilds every index from the database, for writes that bypassed {@code WineService}.
+     */
+    public synchronized void reload() {
+        indexes.forEach(CatalogIndex::clear);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Wine> wines = wineRepository.streamAll(Specification.unrestricted(), Sort.by("id"))) {
+                Iterator<Wine> iterator = wines.iterator();
+                while (iterator.hasNext()) {
+                    Wine wine = iterator.next();
+                    WineResponseDTO dto = wineMapper.toWineResponseDTO(wine);
+                    entityManager.detach(wine);
+                    indexes.forEach(index -> index.put(dto));
+                }
+            }
+        });
+    }
+
+    // Ahead of the catalog version bump, so a response tagged with the new version is never read from an old index
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onWineChanged(WineChangedEvent event) {
+        for (CatalogIndex index : indexes) {
+            if (event.isDeleted()) {
+                index.remove(event.id());
+            } else {
+                index.put(event.wine());
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onWinesCreated(WinesCreatedEvent event) {
+        for (CatalogIndex index : indexes) {
+            event.wines().forEach(index::put);
+        }
+    }
+}
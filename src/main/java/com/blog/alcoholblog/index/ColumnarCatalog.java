@@ -0,0 +1,377 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The searchable part of the catalog as columns: primitive arrays for year, score, alcohol and sugar, dictionary
+ * encoded strings for the text filters, and a bitmap of live rows in {@link RowIds}. A search is a few bitmap operations and one
+ * tight loop over the numeric columns, with the page picked by a bounded heap, so filtering, sorting and counting
+ * run in memory. Only the ids of the page are handed back; the wines themselves come from the wines cache.
+ * <p>
+ * Searches by name and sorts on text columns are left to the database, as are all searches unless
+ * {@code app.columnar.enabled} is set. Deleted rows are reused by later inserts.
+ */
+@Component
+public class ColumnarCatalog implements CatalogIndex {
+
+    private static final Set<String> SORTABLE = Set.of("year", "score", "alcohol", "sugar");
+    private static final int INITIAL_CAPACITY = 1024;
+    // Sorts after every year, as PostgreSQL sorts NULL, and is outside the range a year filter accepts
+    private static final int NO_YEAR = Integer.MAX_VALUE;
+
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RowIds rowIds;
+    private int[] year;
+    private double[] score;
+    private double[] alcohol;
+    private double[] sugar;
+    private DictionaryColumn color;
+    private DictionaryColumn kind;
+    private DictionaryColumn country;
+    private DictionaryColumn region;
+    private DictionaryColumn winery;
+
+    public ColumnarCatalog(@Value("${app.columnar.enabled}") boolean enabled) {
+        this.enabled = enabled;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Ids of the requested page and the exact number of matching wines, or empty when the search needs the database.
+     */
+    public Optional<ColumnarPage> search(WineSearchCriteriaDTO criteriaDTO, Pageable pageable) {
+        if (!enabled || !supports(criteriaDTO, pageable.getSort())) {
+            return Optional.empty();
+        }
+        WineSearchCriteriaDTO criteria = criteriaDTO != null
+                ? criteriaDTO.normalized()
+                : new WineSearchCriteriaDTO(null, null, null, null, null, null, null, null, null, null, null);
+        Sort.Order order = pageable.getSort().isSorted() ? pageable.getSort().iterator().next() : null;
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) rowIds.live().clone();
+            retainContaining(color, criteria.color(), matches);
+            retainContaining(kind, criteria.kind(), matches);
+            retainContaining(country, criteria.country(), matches);
+            retainContaining(region, criteria.region(), matches);
+            retainContaining(winery, criteria.winery(), matches);
+            // Bitmaps narrow the rows first, the numeric columns are then tested a 64-row word at a time
+            long[] rows = matches.toLongArray();
+            retainInRanges(criteria, rows);
+
+            int total = cardinality(rows);
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : total;
+            if (offset >= total) {
+                return Optional.of(new ColumnarPage(List.of(), total));
+            }
+
+            int[] pageRows = order == null
+                    ? firstRows(rows, total, (int) offset, limit)
+                    : topRows(rows, total, new RowOrder(order), (int) offset, limit);
+            List<UUID> ids = new ArrayList<>(pageRows.length);
+            for (int row : pageRows) {
+                ids.add(rowIds.id(row));
+            }
+            return Optional.of(new ColumnarPage(ids, total));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static boolean supports(WineSearchCriteriaDTO criteriaDTO, Sort sort) {
+        if (criteriaDTO != null && criteriaDTO.normalized().name() != null) {
+            return false;
+        }
+        return sort.isUnsorted() || sort.stream().count() == 1 && SORTABLE.contains(sort.iterator().next().getProperty());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Heap held by the columns, dictionaries and indexes, for comparison with what the rows would cost as objects.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = rowIds.estimatedBytes() + (long) year.length * (4 + 8 + 8 + 8);
+            for (DictionaryColumn column : columns()) {
+                bytes += column.estimatedBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            allocate(INITIAL_CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(WineResponseDTO wine) {
+        if (!enabled) {
+            return;
+        }
+        UUID id = UUID.fromString(wine.id());
+
+        lock.writeLock().lock();
+        try {
+            int row = rowIds.find(id);
+            if (row < 0) {
+                row = rowIds.add(id);
+                if (rowIds.capacity() > year.length) {
+                    grow(rowIds.capacity());
+                }
+            }
+            year[row] = wine.year() == null ? NO_YEAR : wine.year();
+            score[row] = wine.score() == null ? Double.NaN : wine.score();
+            alcohol[row] = wine.alcohol() == null ? Double.NaN : wine.alcohol();
+            sugar[row] = wine.sugar() == null ? Double.NaN : wine.sugar();
+            color.set(row, wine.color());
+            kind.set(row, wine.kind());
+            country.set(row, wine.country());
+            region.set(row, wine.region());
+            winery.set(row, wine.winery());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int row = rowIds.remove(id);
+            if (row >= 0) {
+                for (DictionaryColumn column : columns()) {
+                    column.clear(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void retainContaining(DictionaryColumn column, String needle, BitSet matches) {
+        if (needle != null) {
+            column.retainContaining(needle, matches);
+        }
+    }
+
+    private void retainInRanges(WineSearchCriteriaDTO criteria, long[] rows) {
+        if (criteria.year() == null && criteria.minScore() == null && criteria.maxScore() == null
+                && criteria.minAlcohol() == null && criteria.maxAlcohol() == null) {
+            return;
+        }
+        // NaN fails every comparison, as NULL would in SQL
+        boolean anyYear = criteria.year() == null;
+        int exactYear = anyYear ? 0 : criteria.year();
+        double minScore = criteria.minScore() == null ? Double.NEGATIVE_INFINITY : criteria.minScore();
+        double maxScore = criteria.maxScore() == null ? Double.POSITIVE_INFINITY : criteria.maxScore();
+        double minAlcohol = criteria.minAlcohol() == null ? Double.NEGATIVE_INFINITY : criteria.minAlcohol();
+        double maxAlcohol = criteria.maxAlcohol() == null ? Double.POSITIVE_INFINITY : criteria.maxAlcohol();
+        boolean anyScore = criteria.minScore() == null && criteria.maxScore() == null;
+        boolean anyAlcohol = criteria.minAlcohol() == null && criteria.maxAlcohol() == null;
+
+        for (int w = 0; w < rows.length; w++) {
+            long word = rows[w];
+            long kept = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                int row = (w << 6) + bit;
+                boolean match = (anyYear || year[row] == exactYear)
+                        && (anyScore || score[row] >= minScore && score[row] <= maxScore)
+                        && (anyAlcohol || alcohol[row] >= minAlcohol && alcohol[row] <= maxAlcohol);
+                if (!match) {
+                    kept &= ~(1L << bit);
+                }
+            }
+            rows[w] = kept;
+        }
+    }
+
+    private static int cardinality(long[] rows) {
+        int count = 0;
+        for (long word : rows) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int[] firstRows(long[] rows, int total, int offset, int limit) {
+        int[] page = new int[Math.min(limit, total - offset)];
+        int skipped = 0;
+        int taken = 0;
+        for (int w = 0; w < rows.length && taken < page.length; w++) {
+            for (long word = rows[w]; word != 0 && taken < page.length; word &= word - 1) {
+                if (skipped++ >= offset) {
+                    page[taken++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Rows {@code offset} to {@code offset + limit} in sort order. A max-heap of the best {@code offset + limit}
+     * rows seen so far costs O(n log k) instead of sorting every match.
+     */
+    private static int[] topRows(long[] rows, int total, RowOrder order, int offset, int limit) {
+        int k = (int) Math.min((long) offset + limit, total);
+        int[] heap = new int[k];
+        int size = 0;
+        for (int w = 0; w < rows.length; w++) {
+            for (long word = rows[w]; word != 0; word &= word - 1) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (size < k) {
+                    heap[size] = row;
+                    siftUp(heap, size++, order);
+                } else if (order.compare(row, heap[0]) < 0) {
+                    heap[0] = row;
+                    siftDown(heap, size, order);
+                }
+            }
+        }
+
+        // Pops the worst row first, so the best end up at the front
+        for (int end = size - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, end, order);
+        }
+        return Arrays.copyOfRange(heap, offset, k);
+    }
+
+    private static void siftUp(int[] heap, int index, RowOrder order) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(row, heap[parent]) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, RowOrder order) {
+        int index = 0;
+        int row = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(heap[child], row) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    private void allocate(int capacity) {
+        rowIds = new RowIds(capacity);
+        year = new int[capacity];
+        score = new double[capacity];
+        alcohol = new double[capacity];
+        sugar = new double[capacity];
+        color = new DictionaryColumn(capacity, true);
+        kind = new DictionaryColumn(capacity, true);
+        country = new DictionaryColumn(capacity, true);
+        region = new DictionaryColumn(capacity, false);
+        winery = new DictionaryColumn(capacity, false);
+    }
+
+    private void grow(int capacity) {
+        year = Arrays.copyOf(year, capacity);
+        score = Arrays.copyOf(score, capacity);
+        alcohol = Arrays.copyOf(alcohol, capacity);
+        sugar = Arrays.copyOf(sugar, capacity);
+        for (DictionaryColumn column : columns()) {
+            column.grow(capacity);
+        }
+    }
+
+    private List<DictionaryColumn> columns() {
+        return List.of(color, kind, country, region, winery);
+    }
+
+    public record ColumnarPage(List<UUID> ids, long totalElements) {
+    }
+
+    /**
+     * Sort order over rows by one numeric column, ties broken by id so pages don't overlap.
+     */
+    private final class RowOrder {
+
+        private final int[] ints;
+        private final double[] doubles;
+        private final int direction;
+
+        RowOrder(Sort.Order order) {
+            this.ints = order.getProperty().equals("year") ? year : null;
+            this.doubles = switch (order.getProperty()) {
+                case "score" -> score;
+                case "alcohol" -> alcohol;
+                case "sugar" -> sugar;
+                default -> null;
+            };
+            this.direction = order.isAscending() ? 1 : -1;
+        }
+
+        int compare(int a, int b) {
+            int result = direction * (ints != null ? Integer.compare(ints[a], ints[b]) : Double.compare(doubles[a], doubles[b]));
+            return result != 0 ? result : rowIds.compare(a, b);
+        }
+    }
+}
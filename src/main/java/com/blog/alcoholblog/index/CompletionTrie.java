@@ -0,0 +1,333 @@
+package com.blog.alcoholblog.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Case-insensitive completions of distinct values, best scored first. A radix trie, so a value costs at most two
+ * nodes however long it is. Nodes with more than {@code cacheSize} values below them cache their best
+ * {@code cacheSize}, which makes a lookup a walk down the prefix plus a copy; smaller subtrees are collected on
+ * the spot. A write drops the caches along one path and the next lookup through it rebuilds them from the
+ * children's.
+ * <p>
+ * Not thread-safe, the owning index guards it. Lookups may run concurrently with each other.
+ */
+final class CompletionTrie {
+
+    static final Comparator<Term> BEST_FIRST = (a, b) -> {
+        int result = Float.compare(rank(b.best), rank(a.best));
+        if (result == 0) {
+            result = Integer.compare(b.wines, a.wines);
+        }
+        return result != 0 ? result : a.value.compareTo(b.value);
+    };
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Term[] NO_TERMS = new Term[0];
+
+    private final int cacheSize;
+    private final Node root = new Node(new char[0]);
+
+    CompletionTrie(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Distinct values, ignoring case.
+     */
+    int size() {
+        return root.size;
+    }
+
+    /**
+     * Counts a wine with this value and score ({@code NaN} for none) and returns the value's term.
+     */
+    Term add(String value, float score) {
+        String key = value.toLowerCase();
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (true) {
+            path.add(node);
+            node.best = null;
+            if (i == key.length()) {
+                break;
+            }
+
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i).toCharArray());
+                insertChild(node, -index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonLength(child.label, key, i);
+            if (common < child.label.length) {
+                Node split = new Node(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                split.children = new Node[]{child};
+                split.size = child.size;
+                node.children[index] = split;
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+
+        if (node.term == null) {
+            node.term = new Term(value);
+            path.forEach(n -> n.size++);
+        }
+        node.term.add(score);
+        return node.term;
+    }
+
+    /**
+     * Uncounts a wine that was {@link #add added} with this term and score.
+     */
+    void remove(Term term, float score) {
+        String key = term.value.toLowerCase();
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (true) {
+            path.add(node);
+            node.best = null;
+            if (i == key.length()) {
+                break;
+            }
+            node = node.children[childIndex(node, key.charAt(i))];
+            i += node.label.length;
+        }
+
+        term.remove(score);
+        if (term.wines > 0) {
+            return;
+        }
+
+        node.term = null;
+        path.forEach(n -> n.size--);
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (current.size == 0) {
+                removeChild(parent, current);
+            } else if (current.term == null && current.children.length == 1) {
+                absorbOnlyChild(current);
+            }
+        }
+    }
+
+    /**
+     * The best {@code limit} terms starting with this prefix.
+     */
+    List<Term> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase();
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = childIndex(node, key.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            node = node.children[index];
+            int length = Math.min(node.label.length, key.length() - i);
+            if (commonLength(node.label, key, i) < length) {
+                return List.of();
+            }
+            i += length;
+        }
+
+        Term[] best = best(node);
+        return Arrays.asList(best).subList(0, Math.min(limit, best.length));
+    }
+
+    private Term[] best(Node node) {
+        if (node.size <= cacheSize) {
+            List<Term> terms = new ArrayList<>(node.size);
+            collect(node, terms);
+            terms.sort(BEST_FIRST);
+            return terms.toArray(NO_TERMS);
+        }
+
+        Term[] best = node.best;
+        if (best == null) {
+            Term[][] sources = new Term[node.children.length + 1][];
+            sources[0] = node.term == null ? NO_TERMS : new Term[]{node.term};
+            for (int i = 0; i < node.children.length; i++) {
+                sources[i + 1] = best(node.children[i]);
+            }
+            best = merge(sources, cacheSize);
+            node.best = best;
+        }
+        return best;
+    }
+
+    // The children's lists are sorted already, so taking the best head each time is cheaper than sorting them all
+    private static Term[] merge(Term[][] sources, int limit) {
+        int[] positions = new int[sources.length];
+        List<Term> merged = new ArrayList<>(limit);
+        while (merged.size() < limit) {
+            int from = -1;
+            for (int i = 0; i < sources.length; i++) {
+                if (positions[i] < sources[i].length
+                        && (from < 0 || BEST_FIRST.compare(sources[i][positions[i]], sources[from][positions[from]]) < 0)) {
+                    from = i;
+                }
+            }
+            if (from < 0) {
+                break;
+            }
+            merged.add(sources[from][positions[from]++]);
+        }
+        return merged.toArray(NO_TERMS);
+    }
+
+    private static void collect(Node node, List<Term> terms) {
+        if (node.term != null) {
+            terms.add(node.term);
+        }
+        for (Node child : node.children) {
+            collect(child, terms);
+        }
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = node.children[mid].label[0];
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void insertChild(Node node, int index, Node child) {
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        children[index] = child;
+        System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        int index = childIndex(node, child.label[0]);
+        Node[] children = node.children.length == 1 ? NO_CHILDREN : new Node[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        node.children = children;
+    }
+
+    // A node without a value of its own and a single child is only a bend in the edge, so it takes the child's place
+    private static void absorbOnlyChild(Node node) {
+        Node child = node.children[0];
+        char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+        System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+        node.label = label;
+        node.children = child.children;
+        node.term = child.term;
+        node.best = child.best;
+    }
+
+    private static int commonLength(char[] label, String key, int offset) {
+        int length = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < length && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static float rank(float score) {
+        return Float.isNaN(score) ? Float.NEGATIVE_INFINITY : score;
+    }
+
+    private static final class Node {
+        char[] label;
+        Node[] children = NO_CHILDREN;
+        Term term;
+        int size;
+        volatile Term[] best;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * A distinct value as first seen, with the number of wines that have it and the best of their scores.
+     */
+    static final class Term {
+        private final String value;
+        private float[] scores = new float[1];
+        private int scored;
+        private int wines;
+        private float best = Float.NaN;
+
+        private Term(String value) {
+            this.value = value;
+        }
+
+        String value() {
+            return value;
+        }
+
+        int wines() {
+            return wines;
+        }
+
+        /**
+         * The best score, {@code NaN} when none of the wines has one.
+         */
+        float best() {
+            return best;
+        }
+
+        private void add(float score) {
+            wines++;
+            if (Float.isNaN(score)) {
+                return;
+            }
+            if (scored == scores.length) {
+                scores = Arrays.copyOf(scores, scored * 2);
+            }
+            scores[scored++] = score;
+            if (Float.isNaN(best) || score > best) {
+                best = score;
+            }
+        }
+
+        private void remove(float score) {
+            wines--;
+            if (Float.isNaN(score)) {
+                return;
+            }
+            for (int i = 0; i < scored; i++) {
+                if (scores[i] == score) {
+                    scores[i] = scores[--scored];
+                    break;
+                }
+            }
+            if (score == best) {
+                best = Float.NaN;
+                for (int i = 0; i < scored; i++) {
+                    if (Float.isNaN(best) || scores[i] > best) {
+                        best = scores[i];
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.blog.alcoholblog.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A string column stored as one int code per row and a dictionary of the distinct values. Columns with few values
+ * also keep a bitmap of the rows holding each value, so a filter is an OR of a few bitmaps rather than a scan.
+ * Codes are never reused while the column lives; a value nobody holds any more only costs its dictionary entry.
+ * Not thread-safe, {@link ColumnarCatalog} guards it.
+ */
+final class DictionaryColumn {
+
+    private static final int NULL_CODE = -1;
+
+    private final boolean bitmaps;
+    private final List<String> values = new ArrayList<>();
+    private final List<String> lowerCaseValues = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<BitSet> rowsByCode = new ArrayList<>();
+    private int[] rowCodes;
+
+    DictionaryColumn(int capacity, boolean bitmaps) {
+        this.bitmaps = bitmaps;
+        this.rowCodes = new int[capacity];
+        Arrays.fill(rowCodes, NULL_CODE);
+    }
+
+    void grow(int capacity) {
+        int previous = rowCodes.length;
+        rowCodes = Arrays.copyOf(rowCodes, capacity);
+        Arrays.fill(rowCodes, previous, capacity, NULL_CODE);
+    }
+
+    void set(int row, String value) {
+        int code = value == null ? NULL_CODE : codes.computeIfAbsent(value, this::addValue);
+        if (bitmaps) {
+            clearBitmap(row);
+            if (code != NULL_CODE) {
+                rowsByCode.get(code).set(row);
+            }
+        }
+        rowCodes[row] = code;
+    }
+
+    void clear(int row) {
+        if (bitmaps) {
+            clearBitmap(row);
+        }
+        rowCodes[row] = NULL_CODE;
+    }
+
+    String get(int row) {
+        int code = rowCodes[row];
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    int distinctValues() {
+        return values.size();
+    }
+
+    /**
+     * Keeps only the rows whose value contains {@code needle}, which must be lower case, as
+     * {@code lower(column) LIKE '%needle%'} would.
+     */
+    void retainContaining(String needle, BitSet rows) {
+        boolean[] matchingCodes = new boolean[values.size()];
+        BitSet matchingRows = bitmaps ? new BitSet() : null;
+        for (int code = 0; code < matchingCodes.length; code++) {
+            if (lowerCaseValues.get(code).contains(needle)) {
+                matchingCodes[code] = true;
+                if (bitmaps) {
+                    matchingRows.or(rowsByCode.get(code));
+                }
+            }
+        }
+
+        if (bitmaps) {
+            rows.and(matchingRows);
+            return;
+        }
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            int code = rowCodes[row];
+            if (code == NULL_CODE || !matchingCodes[code]) {
+                rows.clear(row);
+            }
+        }
+    }
+
+    long estimatedBytes() {
+        long bytes = 4L * rowCodes.length;
+        for (String value : values) {
+            // The value and its lower-case copy, plus a map entry
+            bytes += 2L * (40 + value.length()) + 48;
+        }
+        for (BitSet bitmap : rowsByCode) {
+            bytes += bitmap.size() / 8;
+        }
+        return bytes;
+    }
+
+    private int addValue(String value) {
+        values.add(value);
+        lowerCaseValues.add(value.toLowerCase());
+        if (bitmaps) {
+            rowsByCode.add(new BitSet());
+        }
+        return values.size() - 1;
+    }
+
+    private void clearBitmap(int row) {
+        int previous = rowCodes[row];
+        if (previous != NULL_CODE) {
+            rowsByCode.get(previous).clear(row);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.blog.alcoholblog.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Row numbers for the wines of a column-oriented index: the id of every row, a bitmap of the live ones, and an
+ * open-addressing hash from id to row that stores only row numbers and reads ids back from the columns, about
+ * 8 bytes per wine where a {@code HashMap<UUID, Integer>} needs around 80. Rows freed by a removal are handed
+ * out again by the next {@link #add}. Not thread-safe, the owning index guards it.
+ */
+final class RowIds {
+
+    private long[] high;
+    private long[] low;
+    private int[] slots = new int[2048];
+    private final BitSet live = new BitSet();
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private int rows;
+    private int size;
+
+    RowIds(int capacity) {
+        high = new long[capacity];
+        low = new long[capacity];
+    }
+
+    /**
+     * Length the owner's columns need to have; grows when {@link #add} runs out of rows.
+     */
+    int capacity() {
+        return high.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * One past the highest row ever handed out; rows below it that aren't {@link #live()} are free.
+     */
+    int limit() {
+        return rows;
+    }
+
+    BitSet live() {
+        return live;
+    }
+
+    UUID id(int row) {
+        return new UUID(high[row], low[row]);
+    }
+
+    int compare(int a, int b) {
+        int result = Long.compare(high[a], high[b]);
+        return result != 0 ? result : Long.compare(low[a], low[b]);
+    }
+
+    /**
+     * The row of this id, or -1.
+     */
+    int find(UUID id) {
+        long idHigh = id.getMostSignificantBits();
+        long idLow = id.getLeastSignificantBits();
+        int mask = slots.length - 1;
+        for (int slot = hash(idHigh, idLow) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (high[row] == idHigh && low[row] == idLow) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Assigns a row to an id that has none.
+     */
+    int add(UUID id) {
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            if (rows == high.length) {
+                int capacity = high.length + (high.length >> 1);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+            }
+            row = rows++;
+        }
+        high[row] = id.getMostSignificantBits();
+        low[row] = id.getLeastSignificantBits();
+        live.set(row);
+
+        if (2 * (size + 1) > slots.length) {
+            int[] rehashed = new int[slots.length * 2];
+            for (int entry : slots) {
+                if (entry != 0) {
+                    insert(rehashed, entry - 1);
+                }
+            }
+            slots = rehashed;
+        }
+        insert(slots, row);
+        size++;
+        return row;
+    }
+
+    /**
+     * Frees the row of this id and returns it, or -1 when the id has none.
+     */
+    int remove(UUID id) {
+        int row = find(id);
+        if (row < 0) {
+            return -1;
+        }
+
+        int mask = slots.length - 1;
+        int slot = hash(high[row], low[row]) & mask;
+        while (slots[slot] != row + 1) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = 0;
+
+        // Moves later entries of the probe run back so that no lookup stops early at the hole
+        for (int next = (slot + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            int home = hash(high[slots[next] - 1], low[slots[next] - 1]) & mask;
+            boolean movable = slot <= next ? home <= slot || home > next : home <= slot && home > next;
+            if (movable) {
+                slots[slot] = slots[next];
+                slots[next] = 0;
+                slot = next;
+            }
+        }
+
+        live.clear(row);
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+        size--;
+        return row;
+    }
+
+    long estimatedBytes() {
+        return 16L * high.length + 4L * slots.length + live.size() / 8 + 4L * freeRows.length;
+    }
+
+    private void insert(int[] table, int row) {
+        int mask = table.length - 1;
+        int slot = hash(high[row], low[row]) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = row + 1;
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
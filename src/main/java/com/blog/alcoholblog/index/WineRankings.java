@@ -0,0 +1,181 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.RankingDimension;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Wines ordered by score, overall and within every country, region, color and year, so the top N of any group
+ * is read off the front of a sorted set instead of sorting the filtered catalog per request. A write moves one
+ * wine between at most five sets. Only ids and scores are kept, the wines themselves come from the wines cache.
+ * <p>
+ * Group values compare case-insensitively and are reported as first seen.
+ */
+@Component
+public class WineRankings implements CatalogIndex {
+
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Ranked::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Ranked> byId = new HashMap<>();
+    private final NavigableSet<Ranked> overall = new TreeSet<>(BEST_FIRST);
+    private final Map<RankingDimension, NavigableMap<String, NavigableSet<Ranked>>> groups = new EnumMap<>(RankingDimension.class);
+
+    public WineRankings() {
+        for (RankingDimension dimension : RankingDimension.values()) {
+            groups.put(dimension, new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            byId.clear();
+            overall.clear();
+            groups.values().forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(WineResponseDTO wine) {
+        if (wine.score() == null) {
+            remove(UUID.fromString(wine.id()));
+            return;
+        }
+
+        Map<RankingDimension, String> values = new EnumMap<>(RankingDimension.class);
+        for (RankingDimension dimension : RankingDimension.values()) {
+            values.put(dimension, dimension.valueOf(wine));
+        }
+        Ranked ranked = new Ranked(UUID.fromString(wine.id()), wine.score(), values);
+
+        lock.writeLock().lock();
+        try {
+            unlink(byId.put(ranked.id(), ranked));
+            overall.add(ranked);
+            for (Map.Entry<RankingDimension, String> value : values.entrySet()) {
+                if (value.getValue() != null) {
+                    groups.get(value.getKey()).computeIfAbsent(value.getValue(), v -> new TreeSet<>(BEST_FIRST)).add(ranked);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            unlink(byId.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best rated wines across the catalog.
+     */
+    public List<UUID> top(int limit) {
+        lock.readLock().lock();
+        try {
+            return first(overall, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best rated wines of one group, empty for a value no wine has.
+     */
+    public List<UUID> top(RankingDimension dimension, String value, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Ranked> group = groups.get(dimension).get(value);
+            return group == null ? List.of() : first(group, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best rated wines of at most {@code maxGroups} groups, by group value in alphabetical order and
+     * starting after the group {@code after} ({@code null} for the first).
+     */
+    public GroupPage topPerGroup(RankingDimension dimension, String after, int limit, int maxGroups) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, NavigableSet<Ranked>> byValue = groups.get(dimension);
+            LinkedHashMap<String, List<UUID>> top = new LinkedHashMap<>();
+            for (Map.Entry<String, NavigableSet<Ranked>> group
+                    : (after == null ? byValue : byValue.tailMap(after, false)).entrySet()) {
+                if (top.size() == maxGroups) {
+                    return new GroupPage(top, top.lastEntry().getKey());
+                }
+                top.put(group.getKey(), first(group.getValue(), limit));
+            }
+            return new GroupPage(top, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(Ranked ranked) {
+        if (ranked == null) {
+            return;
+        }
+        overall.remove(ranked);
+        for (Map.Entry<RankingDimension, String> value : ranked.values().entrySet()) {
+            if (value.getValue() == null) {
+                continue;
+            }
+            NavigableMap<String, NavigableSet<Ranked>> byValue = groups.get(value.getKey());
+            NavigableSet<Ranked> group = byValue.get(value.getValue());
+            if (group != null) {
+                group.remove(ranked);
+                if (group.isEmpty()) {
+                    byValue.remove(value.getValue());
+                }
+            }
+        }
+    }
+
+    private static List<UUID> first(NavigableSet<Ranked> ranking, int limit) {
+        List<UUID> ids = new ArrayList<>(Math.min(limit, ranking.size()));
+        for (Ranked ranked : ranking) {
+            if (ids.size() == limit) {
+                break;
+            }
+            ids.add(ranked.id());
+        }
+        return ids;
+    }
+
+    /**
+     * One page of groups, with the value to continue after when more groups follow.
+     */
+    public record GroupPage(Map<String, List<UUID>> groups, String next) {
+    }
+
+    private record Ranked(UUID id, double score, Map<RankingDimension, String> values) {
+    }
+}
@@ -0,0 +1,273 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Exact nearest neighbours of a wine by sugar, alcohol, score and year plus one-hot color, kind and country.
+ * <p>
+ * Features are stored as one float array each, scaled so that one unit is a clearly noticeable difference, and a
+ * categorical code per row. Two one-hot vectors that differ are {@code 2 * weight²} apart, which is what a
+ * mismatching code adds, so no one-hot vector is materialized. A query computes the squared distance to every row
+ * block by block in a branch-free loop over flat arrays, which the JIT can unroll and vectorize, and keeps the
+ * nearest in a bounded heap. A full scan is exact, needs no tuning and at catalog sizes costs a few milliseconds
+ * at most, where tree indexes lose most of their pruning with seven dimensions.
+ */
+@Component
+public class WineSimilarityIndex implements CatalogIndex {
+
+    private static final float SUGAR_UNIT = 10f;
+    private static final float ALCOHOL_UNIT = 1.5f;
+    private static final float SCORE_UNIT = 5f;
+    private static final float YEAR_UNIT = 5f;
+
+    private static final float COLOR_MISMATCH = 4f;
+    private static final float KIND_MISMATCH = 2f;
+    private static final float COUNTRY_MISMATCH = 2f;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int BLOCK = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> colors = new HashMap<>();
+    private final Map<String, Integer> kinds = new HashMap<>();
+    private final Map<String, Integer> countries = new HashMap<>();
+
+    private RowIds rowIds;
+    private float[] sugar;
+    private float[] alcohol;
+    private float[] score;
+    private float[] year;
+    private int[] color;
+    private int[] kind;
+    private int[] country;
+
+    public WineSimilarityIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Ids of the {@code limit} wines nearest to this one, nearest first, or {@code null} when the wine isn't indexed.
+     */
+    public List<Neighbour> nearest(UUID id, int limit) {
+        lock.readLock().lock();
+        try {
+            int query = rowIds.find(id);
+            if (query < 0) {
+                return null;
+            }
+
+            float[] colorPenalty = penalties(colors.size(), color[query], COLOR_MISMATCH);
+            float[] kindPenalty = penalties(kinds.size(), kind[query], KIND_MISMATCH);
+            float[] countryPenalty = penalties(countries.size(), country[query], COUNTRY_MISMATCH);
+
+            int k = Math.min(limit, rowIds.size() - 1);
+            if (k <= 0) {
+                return List.of();
+            }
+            int[] heapRows = new int[k];
+            float[] heapDistances = new float[heapRows.length];
+            int size = 0;
+
+            float[] distances = new float[BLOCK];
+            int rows = rowIds.limit();
+            for (int start = 0; start < rows; start += BLOCK) {
+                int end = Math.min(start + BLOCK, rows);
+                distances(query, start, end, distances, colorPenalty, kindPenalty, countryPenalty);
+
+                for (int row = start; row < end; row++) {
+                    float distance = distances[row - start];
+                    if (row == query || distance == Float.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    if (size < k) {
+                        heapRows[size] = row;
+                        heapDistances[size] = distance;
+                        siftUp(heapRows, heapDistances, size++);
+                    } else if (distance < heapDistances[0]) {
+                        heapRows[0] = row;
+                        heapDistances[0] = distance;
+                        siftDown(heapRows, heapDistances, size);
+                    }
+                }
+            }
+
+            List<Neighbour> neighbours = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                neighbours.add(new Neighbour(rowIds.id(heapRows[i]), Math.sqrt(heapDistances[i])));
+            }
+            neighbours.sort((a, b) -> Double.compare(a.distance(), b.distance()));
+            return neighbours;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            colors.clear();
+            kinds.clear();
+            countries.clear();
+            allocate(INITIAL_CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(WineResponseDTO wine) {
+        UUID id = UUID.fromString(wine.id());
+
+        lock.writeLock().lock();
+        try {
+            int row = rowIds.find(id);
+            if (row < 0) {
+                row = rowIds.add(id);
+                if (rowIds.capacity() > sugar.length) {
+                    grow(rowIds.capacity());
+                }
+            }
+            sugar[row] = scaled(wine.sugar(), SUGAR_UNIT);
+            alcohol[row] = scaled(wine.alcohol(), ALCOHOL_UNIT);
+            score[row] = scaled(wine.score(), SCORE_UNIT);
+            year[row] = wine.year() == null ? 0f : wine.year() / YEAR_UNIT;
+            color[row] = code(colors, wine.color());
+            kind[row] = code(kinds, wine.kind());
+            country[row] = code(countries, wine.country());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowIds.remove(id);
+            if (row >= 0) {
+                // Free rows stay in the scan, infinitely far away
+                sugar[row] = Float.POSITIVE_INFINITY;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void distances(int query, int start, int end, float[] distances,
+                           float[] colorPenalty, float[] kindPenalty, float[] countryPenalty) {
+        float qSugar = sugar[query];
+        float qAlcohol = alcohol[query];
+        float qScore = score[query];
+        float qYear = year[query];
+        for (int row = start; row < end; row++) {
+            float dSugar = sugar[row] - qSugar;
+            float dAlcohol = alcohol[row] - qAlcohol;
+            float dScore = score[row] - qScore;
+            float dYear = year[row] - qYear;
+            distances[row - start] = dSugar * dSugar + dAlcohol * dAlcohol + dScore * dScore + dYear * dYear
+                    + colorPenalty[color[row]] + kindPenalty[kind[row]] + countryPenalty[country[row]];
+        }
+    }
+
+    /**
+     * What each code adds to the distance from a wine with code {@code own}, with a slot for missing values.
+     */
+    private static float[] penalties(int codes, int own, float mismatch) {
+        float[] penalties = new float[codes + 1];
+        Arrays.fill(penalties, mismatch);
+        penalties[own] = 0f;
+        return penalties;
+    }
+
+    private static float scaled(Double value, float unit) {
+        return value == null ? 0f : (float) (value / unit);
+    }
+
+    // Code 0 is kept for a missing value, so every code indexes the penalty arrays
+    private static int code(Map<String, Integer> codes, String value) {
+        return value == null ? 0 : codes.computeIfAbsent(value.toLowerCase(), v -> codes.size() + 1);
+    }
+
+    private static void siftUp(int[] rows, float[] distances, int index) {
+        int row = rows[index];
+        float distance = distances[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (distance <= distances[parent]) {
+                break;
+            }
+            rows[index] = rows[parent];
+            distances[index] = distances[parent];
+            index = parent;
+        }
+        rows[index] = row;
+        distances[index] = distance;
+    }
+
+    private static void siftDown(int[] rows, float[] distances, int size) {
+        int row = rows[0];
+        float distance = distances[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && distances[child + 1] > distances[child]) {
+                child++;
+            }
+            if (distances[child] <= distance) {
+                break;
+            }
+            rows[index] = rows[child];
+            distances[index] = distances[child];
+            index = child;
+        }
+        rows[index] = row;
+        distances[index] = distance;
+    }
+
+    private void allocate(int capacity) {
+        rowIds = new RowIds(capacity);
+        sugar = new float[capacity];
+        alcohol = new float[capacity];
+        score = new float[capacity];
+        year = new float[capacity];
+        color = new int[capacity];
+        kind = new int[capacity];
+        country = new int[capacity];
+    }
+
+    private void grow(int capacity) {
+        sugar = Arrays.copyOf(sugar, capacity);
+        alcohol = Arrays.copyOf(alcohol, capacity);
+        score = Arrays.copyOf(score, capacity);
+        year = Arrays.copyOf(year, capacity);
+        color = Arrays.copyOf(color, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        country = Arrays.copyOf(country, capacity);
+    }
+
+    public record Neighbour(UUID id, double distance) {
+    }
+}
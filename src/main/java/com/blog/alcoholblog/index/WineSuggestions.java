@@ -0,0 +1,149 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.SuggestField;
+import com.blog.alcoholblog.dto.SuggestionDTO;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Completions of wine names, wineries and regions for a typed prefix, one {@link CompletionTrie} per field. Every
+ * row remembers the terms and the score it was counted with, so a write uncounts exactly what the previous version
+ * of the wine added.
+ */
+@Component
+public class WineSuggestions implements CatalogIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final SuggestField[] FIELDS = SuggestField.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<SuggestField, CompletionTrie> tries = new EnumMap<>(SuggestField.class);
+
+    private RowIds rowIds;
+    private float[] scores;
+    private CompletionTrie.Term[][] terms;
+
+    public WineSuggestions() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * The best {@code limit} values of this field starting with the prefix, ignoring case, at most {@link #MAX_LIMIT}.
+     */
+    public List<SuggestionDTO> suggest(SuggestField field, String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return tries.get(field).complete(prefix, Math.min(limit, MAX_LIMIT)).stream()
+                    .map(term -> new SuggestionDTO(term.value(),
+                            Float.isNaN(term.best()) ? null : (double) term.best(), term.wines()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct values of this field.
+     */
+    public int size(SuggestField field) {
+        lock.readLock().lock();
+        try {
+            return tries.get(field).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            allocate(INITIAL_CAPACITY);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(WineResponseDTO wine) {
+        UUID id = UUID.fromString(wine.id());
+        float score = wine.score() == null ? Float.NaN : wine.score().floatValue();
+
+        lock.writeLock().lock();
+        try {
+            int row = rowIds.find(id);
+            if (row < 0) {
+                row = rowIds.add(id);
+                if (rowIds.capacity() > scores.length) {
+                    grow(rowIds.capacity());
+                }
+            }
+
+            for (SuggestField field : FIELDS) {
+                CompletionTrie.Term[] column = terms[field.ordinal()];
+                CompletionTrie.Term previous = column[row];
+                String value = StringUtils.hasText(field.valueOf(wine)) ? field.valueOf(wine).trim() : null;
+                if (previous != null && value != null && Float.compare(scores[row], score) == 0
+                        && previous.value().toLowerCase().equals(value.toLowerCase())) {
+                    continue;
+                }
+
+                CompletionTrie trie = tries.get(field);
+                if (previous != null) {
+                    trie.remove(previous, scores[row]);
+                }
+                column[row] = value == null ? null : trie.add(value, score);
+            }
+            scores[row] = score;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int row = rowIds.remove(id);
+            if (row < 0) {
+                return;
+            }
+            for (SuggestField field : FIELDS) {
+                CompletionTrie.Term[] column = terms[field.ordinal()];
+                if (column[row] != null) {
+                    tries.get(field).remove(column[row], scores[row]);
+                    column[row] = null;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void allocate(int capacity) {
+        for (SuggestField field : FIELDS) {
+            tries.put(field, new CompletionTrie(MAX_LIMIT));
+        }
+        rowIds = new RowIds(capacity);
+        scores = new float[capacity];
+        terms = new CompletionTrie.Term[FIELDS.length][capacity];
+    }
+
+    private void grow(int capacity) {
+        scores = Arrays.copyOf(scores, capacity);
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = Arrays.copyOf(terms[i], capacity);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.blog.alcoholblog.mapper;
 
 import com.blog.alcoholblog.dto.CreateWineRequestDTO;
-import com.blog.alcoholblog.dto.UpdateWineRequestDTO;
 import com.blog.alcoholblog.dto.WineResponseDTO;
 import com.blog.alcoholblog.model.Wine;
 import org.mapstruct.*;
@@ -15,11 +14,9 @@ public interface WineMapper {
     WineResponseDTO toWineResponseDTO(Wine wine);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Wine toWine(CreateWineRequestDTO createWineRequestDTO);
 
     List<WineResponseDTO> toWineResponseDTOList(List<Wine> wines);
 
-    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
-    void updateWineFromDTO(UpdateWineRequestDTO updateWineRequestDTO, @MappingTarget Wine wine);
-
 }
@@ -0,0 +1,165 @@
+package com.blog.alcoholblog.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/queries}: Hibernate statistics, search timings per {@link QueryFingerprint} and the slowest recent
+ * searches. {@code /actuator/queries/{id}} explains the SQL of one slow search, {@code DELETE} starts over.
+ */
+@Component
+@Endpoint(id = "queries")
+@RequiredArgsConstructor
+public class QueriesEndpoint {
+
+    private static final int TOP_QUERIES = 20;
+
+    private final QueryLog queryLog;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @ReadOperation
+    public QueriesReport queries() {
+        return new QueriesReport(hibernateStatistics(), queryLog.fingerprints(), queryLog.slowest());
+    }
+
+    /**
+     * Runs {@code EXPLAIN} for every statement of a logged slow search. Postgres plans the statement generically,
+     * as the captured SQL holds placeholders instead of the original values.
+     */
+    @ReadOperation
+    public ExplainReport explain(@Selector long id) {
+        return queryLog.slowQuery(id)
+                .map(slowQuery -> {
+                    Map<String, List<String>> plans = new LinkedHashMap<>();
+                    slowQuery.sql().forEach(sql -> plans.put(sql, explain(sql)));
+                    return new ExplainReport(slowQuery, plans);
+                })
+                .orElse(null);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryLog.reset();
+        statistics().clear();
+    }
+
+    private HibernateStatistics hibernateStatistics() {
+        Statistics statistics = statistics();
+        List<QueryStats> slowestQueries = Arrays.stream(statistics.getQueries())
+                .map(hql -> QueryStats.of(hql, statistics.getQueryStatistics(hql)))
+                .sorted(Comparator.comparingLong(QueryStats::totalMillis).reversed())
+                .limit(TOP_QUERIES)
+                .toList();
+
+        return new HibernateStatistics(
+                statistics.isStatisticsEnabled(),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getTransactionCount(),
+                slowestQueries
+        );
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private List<String> explain(String sql) {
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> explain(connection, sql));
+        } catch (DataAccessException ex) {
+            return List.of("EXPLAIN failed: " + ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static List<String> explain(Connection connection, String sql) throws SQLException {
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        String explain = postgres ? "EXPLAIN (GENERIC_PLAN) " + numberedParameters(sql) : "EXPLAIN " + sql;
+
+        try (PreparedStatement statement = connection.prepareStatement(explain)) {
+            if (!postgres) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+            }
+            List<String> plan = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * {@code GENERIC_PLAN} needs {@code $1, $2, ...}, which the driver would otherwise take for JDBC parameters.
+     */
+    private static String numberedParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        boolean quoted = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    public record QueriesReport(HibernateStatistics hibernate, List<QueryLog.FingerprintSummary> fingerprints,
+                                List<QueryLog.SlowQuery> slowest) {
+    }
+
+    public record ExplainReport(QueryLog.SlowQuery query, Map<String, List<String>> plans) {
+    }
+
+    public record HibernateStatistics(boolean enabled, long prepareStatementCount, long queryExecutionCount,
+                                      long queryExecutionMaxTimeMillis, String queryExecutionMaxTimeQuery,
+                                      long entityLoadCount, long entityFetchCount, long transactionCount,
+                                      List<QueryStats> slowestQueries) {
+    }
+
+    public record QueryStats(String query, long executionCount, long rowCount, double meanMillis, long maxMillis,
+                             long totalMillis) {
+
+        static QueryStats of(String query, QueryStatistics statistics) {
+            return new QueryStats(query, statistics.getExecutionCount(), statistics.getExecutionRowCount(),
+                    statistics.getExecutionAvgTimeAsDouble(), statistics.getExecutionMaxTime(),
+                    statistics.getExecutionTotalTime());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.alcoholblog.metrics;
+
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.springframework.data.domain.Sort;
+
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * The shape of a search, independent of its values, e.g. {@code "page: color LIKE + minScore | sort=score DESC"}.
+ * Searches with the same fingerprint produce the same SQL, so their timings can be compared.
+ */
+public final class QueryFingerprint {
+
+    private QueryFingerprint() {
+    }
+
+    public static String of(String operation, WineSearchCriteriaDTO criteriaDTO, Sort sort) {
+        StringJoiner filters = new StringJoiner(" + ");
+        if (criteriaDTO != null) {
+            addFilters(filters, criteriaDTO.normalized());
+        }
+
+        String order = sort.isSorted()
+                ? sort.stream().map(o -> o.getProperty() + " " + o.getDirection()).collect(Collectors.joining(", "))
+                : "none";
+
+        return operation + ": " + (filters.length() > 0 ? filters : "no filters") + " | sort=" + order;
+    }
+
+    private static void addFilters(StringJoiner filters, WineSearchCriteriaDTO criteria) {
+        addIfPresent(filters, criteria.name(), "name LIKE");
+        addIfPresent(filters, criteria.color(), "color LIKE");
+        addIfPresent(filters, criteria.winery(), "winery LIKE");
+        addIfPresent(filters, criteria.kind(), "kind LIKE");
+        addIfPresent(filters, criteria.country(), "country LIKE");
+        addIfPresent(filters, criteria.region(), "region LIKE");
+        addIfPresent(filters, criteria.year(), "year =");
+        addIfPresent(filters, criteria.minScore(), "minScore");
+        addIfPresent(filters, criteria.maxScore(), "maxScore");
+        addIfPresent(filters, criteria.minAlcohol(), "minAlcohol");
+        addIfPresent(filters, criteria.maxAlcohol(), "maxAlcohol");
+    }
+
+    private static void addIfPresent(StringJoiner filters, Object value, String shape) {
+        if (value != null) {
+            filters.add(shape);
+        }
+    }
+}
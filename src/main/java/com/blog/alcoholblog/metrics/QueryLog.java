@@ -0,0 +1,139 @@
+package com.blog.alcoholblog.metrics;
+
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Execution times of catalog searches, aggregated per {@link QueryFingerprint}, plus a ring buffer of the most recent
+ * executions slower than {@code app.query-log.slow-threshold} together with their parameters and SQL.
+ */
+@Component
+public class QueryLog {
+
+    private static final int MAX_FINGERPRINTS = 1_000;
+
+    private final ConcurrentMap<String, FingerprintStats> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong slowSequence = new AtomicLong();
+    private final SlowQuery[] slowQueries;
+    private final long slowThresholdNanos;
+
+    public QueryLog(@Value("${app.query-log.slow-capacity}") int slowCapacity,
+                    @Value("${app.query-log.slow-threshold}") Duration slowThreshold) {
+        this.slowQueries = new SlowQuery[slowCapacity];
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Runs the query, recording how long it took under the fingerprint of {@code operation}, criteria and sort.
+     * {@code page} describes the requested window for the slow query log, e.g. {@code "page 2, size 12"}.
+     */
+    public <T> T time(String operation, WineSearchCriteriaDTO criteriaDTO, Sort sort, String page, Supplier<T> query) {
+        SqlStatementCounter.startCapture();
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<String> sql = SqlStatementCounter.stopCapture();
+            record(QueryFingerprint.of(operation, criteriaDTO, sort), criteriaDTO, sort, page, elapsed, sql);
+        }
+    }
+
+    public List<FingerprintSummary> fingerprints() {
+        return fingerprints.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingDouble(FingerprintSummary::totalMillis).reversed())
+                .toList();
+    }
+
+    /**
+     * The buffered slow executions, slowest first.
+     */
+    public List<SlowQuery> slowest() {
+        SlowQuery[] snapshot;
+        synchronized (slowQueries) {
+            snapshot = slowQueries.clone();
+        }
+        return Arrays.stream(snapshot)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble(SlowQuery::durationMillis).reversed())
+                .toList();
+    }
+
+    public Optional<SlowQuery> slowQuery(long id) {
+        synchronized (slowQueries) {
+            SlowQuery slowQuery = slowQueries[(int) (id % slowQueries.length)];
+            return slowQuery != null && slowQuery.id() == id ? Optional.of(slowQuery) : Optional.empty();
+        }
+    }
+
+    public void reset() {
+        fingerprints.clear();
+        synchronized (slowQueries) {
+            Arrays.fill(slowQueries, null);
+        }
+    }
+
+    private void record(String fingerprint, WineSearchCriteriaDTO criteriaDTO, Sort sort, String page, long elapsed, List<String> sql) {
+        FingerprintStats stats = fingerprints.get(fingerprint);
+        if (stats == null && fingerprints.size() < MAX_FINGERPRINTS) {
+            stats = fingerprints.computeIfAbsent(fingerprint, key -> new FingerprintStats());
+        }
+        if (stats != null) {
+            stats.record(elapsed);
+        }
+
+        if (elapsed >= slowThresholdNanos && slowQueries.length > 0) {
+            long id = slowSequence.incrementAndGet();
+            SlowQuery slowQuery = new SlowQuery(id, Instant.now(), fingerprint,
+                    criteriaDTO != null ? criteriaDTO.normalized() : null,
+                    sort.toString(), page, elapsed / 1_000_000.0, List.copyOf(sql));
+            synchronized (slowQueries) {
+                slowQueries[(int) (id % slowQueries.length)] = slowQuery;
+            }
+        }
+    }
+
+    public record FingerprintSummary(String fingerprint, long count, double totalMillis, double meanMillis, double maxMillis) {
+    }
+
+    public record SlowQuery(long id, Instant executedAt, String fingerprint, WineSearchCriteriaDTO criteria, String sort,
+                            String page, double durationMillis, List<String> sql) {
+    }
+
+    private static final class FingerprintStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        FingerprintSummary summary(String fingerprint) {
+            long executions = count.sum();
+            double totalMillis = totalNanos.sum() / 1_000_000.0;
+            return new FingerprintSummary(fingerprint, executions, totalMillis,
+                    executions == 0 ? 0 : totalMillis / executions, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
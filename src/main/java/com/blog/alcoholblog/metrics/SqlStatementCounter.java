@@ -0,0 +1,54 @@
+package com.blog.alcoholblog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so every request can report how many it issued.
+ * Between {@link #startCapture()} and {@link #stopCapture()} the statements themselves are kept as well.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String inspect(String sql) {
+        State state = STATE.get();
+        state.count++;
+        if (state.captured != null) {
+            state.captured.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        STATE.get().count = 0;
+    }
+
+    /**
+     * Returns the statements counted since the last {@link #reset()} and stops tracking the current thread.
+     */
+    public static int finish() {
+        int count = STATE.get().count;
+        STATE.remove();
+        return count;
+    }
+
+    public static void startCapture() {
+        STATE.get().captured = new ArrayList<>(2);
+    }
+
+    public static List<String> stopCapture() {
+        State state = STATE.get();
+        List<String> captured = state.captured != null ? state.captured : List.of();
+        state.captured = null;
+        return captured;
+    }
+
+    private static final class State {
+        private int count;
+        private List<String> captured;
+    }
+}
@@ -0,0 +1,72 @@
+package com.blog.alcoholblog.metrics;
+
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.projection.WineFields;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.RecordComponent;
+
+/**
+ * How clients search the catalog: which filters they set, the page sizes and sorts they ask for,
+ * and how many rows come back.
+ */
+@Component
+public class WineSearchMetrics {
+
+    private static final RecordComponent[] CRITERIA_FIELDS = WineSearchCriteriaDTO.class.getRecordComponents();
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary pageSizes;
+
+    public WineSearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pageSizes = DistributionSummary.builder("wines.search.page.size")
+                .description("Requested page sizes")
+                .serviceLevelObjectives(12, 24, 48, 100, 500)
+                .register(meterRegistry);
+    }
+
+    public void recordSearch(WineSearchCriteriaDTO criteriaDTO, int pageSize, Sort sort) {
+        recordFilters(criteriaDTO);
+        pageSizes.record(pageSize);
+
+        // Sort fields come straight from the query string, keep the tag values bounded
+        sort.forEach(order -> meterRegistry.counter("wines.search.sort",
+                "field", WineFields.ALL.contains(order.getProperty()) ? order.getProperty() : "other",
+                "direction", order.getDirection().name()).increment());
+    }
+
+    public void recordFilters(WineSearchCriteriaDTO criteriaDTO) {
+        WineSearchCriteriaDTO normalized = criteriaDTO.normalized();
+        if (normalized.isEmpty()) {
+            meterRegistry.counter("wines.search.filters", "field", "none").increment();
+            return;
+        }
+
+        for (RecordComponent field : CRITERIA_FIELDS) {
+            if (value(field, normalized) != null) {
+                meterRegistry.counter("wines.search.filters", "field", field.getName()).increment();
+            }
+        }
+    }
+
+    public void recordRows(String mode, int rows) {
+        DistributionSummary.builder("wines.search.rows")
+                .description("Rows returned per search")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    private static Object value(RecordComponent field, WineSearchCriteriaDTO criteriaDTO) {
+        try {
+            return field.getAccessor().invoke(criteriaDTO);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot read search criterion " + field.getName(), ex);
+        }
+    }
+}
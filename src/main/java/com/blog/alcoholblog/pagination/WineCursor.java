@@ -0,0 +1,84 @@
+package com.blog.alcoholblog.pagination;
+
+import com.blog.alcoholblog.exception.InvalidCursorException;
+import com.blog.alcoholblog.model.Wine;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for {@code GET /wines?cursor=...}.
+ * <p>
+ * The token carries the sort it was issued for plus the sort key and id of the last row,
+ * so the next page is a {@code (sortKey, id) > (?, ?)} seek instead of an OFFSET scan.
+ */
+public record WineCursor(Sort sort, KeysetScrollPosition position) {
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    public static WineCursor first(Sort sort) {
+        return new WineCursor(sort, ScrollPosition.keyset());
+    }
+
+    public WineCursor next(KeysetScrollPosition lastRow) {
+        return new WineCursor(sort, lastRow);
+    }
+
+    public String encode() {
+        Sort.Order order = order(sort);
+        Map<String, ?> keys = position.getKeys();
+
+        String raw = order.getProperty() + SEPARATOR
+                + order.getDirection() + SEPARATOR
+                + keys.get(ID) + SEPARATOR
+                + keys.get(order.getProperty());
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static WineCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+
+            String property = parts[0];
+            Sort sort = Sort.by(Sort.Direction.fromString(parts[1]), property);
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(property, convert(property, parts[3]));
+            keys.put(ID, UUID.fromString(parts[2]));
+
+            return new WineCursor(sort, ScrollPosition.forward(keys));
+        } catch (IllegalArgumentException | ConversionException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    private static Object convert(String property, String value) {
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(Wine.class, property);
+        if (descriptor == null) {
+            throw new InvalidCursorException("Cursor sorts by unknown field: " + property);
+        }
+        return DefaultConversionService.getSharedInstance().convert(value, descriptor.getPropertyType());
+    }
+
+    private static Sort.Order order(Sort sort) {
+        return sort.stream()
+                .findFirst()
+                .orElseThrow(() -> new InvalidCursorException("Cursor requires a sort"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.blog.alcoholblog.projection;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields the filter sidebar can facet on, for {@code GET /wines/facets?facets=...}.
+ */
+public final class WineFacets {
+
+    public static final List<String> ALL = List.of("color", "country", "kind", "region", "year");
+
+    private WineFacets() {
+    }
+
+    public static List<String> parse(String facets) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String facet : facets.split(",")) {
+            String name = facet.trim();
+            if (!ALL.contains(name)) {
+                throw new IllegalArgumentException("Invalid facets parameter: " + name);
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Invalid facets parameter");
+        }
+        return List.copyOf(selected);
+    }
+}
@@ -0,0 +1,60 @@
+package com.blog.alcoholblog.projection;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.model.Wine;
+import jakarta.persistence.Column;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets for {@code GET /wines?fields=...}. Field names are the {@link WineResponseDTO} properties;
+ * {@code fields=summary} selects everything the catalog grid needs, i.e. all but the TEXT description.
+ */
+public final class WineFields {
+
+    public static final String SUMMARY_NAME = "summary";
+
+    public static final List<String> ALL = Arrays.stream(WineResponseDTO.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .toList();
+
+    public static final List<String> SUMMARY = ALL.stream()
+            .filter(field -> !field.equals("description"))
+            .toList();
+
+    /**
+     * Column of each mapped {@link Wine} property, for the SQL written by hand rather than by Hibernate.
+     */
+    public static final Map<String, String> COLUMNS = Arrays.stream(Wine.class.getDeclaredFields())
+            .filter(field -> field.isAnnotationPresent(Column.class))
+            .collect(Collectors.toUnmodifiableMap(Field::getName, field -> field.getAnnotation(Column.class).name()));
+
+    private WineFields() {
+    }
+
+    public static List<String> parse(String fields) {
+        if (fields.trim().equalsIgnoreCase(SUMMARY_NAME)) {
+            return SUMMARY;
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!ALL.contains(name)) {
+                throw new IllegalArgumentException("Invalid fields parameter: " + name);
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Invalid fields parameter");
+        }
+        return List.copyOf(selected);
+    }
+}
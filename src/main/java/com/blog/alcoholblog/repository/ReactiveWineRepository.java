@@ -0,0 +1,116 @@
+package com.blog.alcoholblog.repository;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.projection.WineFields;
+import com.blog.alcoholblog.specification.WineSqlFilter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking reads of {@code wines} over R2DBC, for {@code /reactive/wines}. It owns a small connection pool
+ * separate from the JDBC one, so high fan-out reads neither hold request threads nor compete with JPA for
+ * connections. Rows are fetched in chunks of {@link #FETCH_SIZE} as the subscriber requests them.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveWineRepository implements DisposableBean {
+
+    private static final int FETCH_SIZE = 64;
+
+    private static final String SELECT = "SELECT id, name, year, color, state, winery, kind, sugar, alcohol, country, "
+            + "region, score, description, picture, version FROM wines";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveWineRepository(@Value("${app.reactive.url}") String url,
+                                  @Value("${spring.datasource.username}") String username,
+                                  @Value("${spring.datasource.password}") String password,
+                                  @Value("${app.reactive.pool-size}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(0)
+                .maxSize(poolSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Mono<WineResponseDTO> findById(UUID id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveWineRepository::toWineResponseDTO)
+                .one();
+    }
+
+    public Flux<WineResponseDTO> findAll(WineSearchCriteriaDTO criteriaDTO, Pageable pageable) {
+        WineSqlFilter filter = WineSqlFilter.of(criteriaDTO);
+        String sql = SELECT + filter.where() + orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset";
+
+        return databaseClient.sql(sql)
+                .bindValues(filter.bindings())
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveWineRepository::toWineResponseDTO)
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        return sort.stream()
+                .map(order -> {
+                    String column = WineFields.COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Invalid sort parameter");
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", " ORDER BY ", ""));
+    }
+
+    private static WineResponseDTO toWineResponseDTO(Readable row) {
+        return new WineResponseDTO(
+                row.get("id", UUID.class).toString(),
+                row.get("name", String.class),
+                row.get("year", Integer.class),
+                row.get("color", String.class),
+                row.get("state", String.class),
+                row.get("winery", String.class),
+                row.get("kind", String.class),
+                row.get("sugar", Double.class),
+                row.get("alcohol", Double.class),
+                row.get("country", String.class),
+                row.get("region", String.class),
+                row.get("score", Double.class),
+                row.get("description", String.class),
+                row.get("picture", String.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -10,10 +10,13 @@ import org.springframework.stereotype.Repository;
 import java.util.UUID;
 
 @Repository
-public interface WineRepository extends JpaRepository<Wine, UUID>, JpaSpecificationExecutor<Wine> {
+public interface WineRepository extends JpaRepository<Wine, UUID>, JpaSpecificationExecutor<Wine>, WineRepositoryCustom {
 
     @Modifying
     @Query("DELETE FROM Wine w WHERE w.id = :id")
     int deleteByIdReturningCount(@Param("id") UUID id);
 
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('wines' AS regclass)", nativeQuery = true)
+    long estimateRowCount();
+
 }
@@ -0,0 +1,40 @@
+package com.blog.alcoholblog.repository;
+
+import com.blog.alcoholblog.model.Wine;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface WineRepositoryCustom {
+
+    /**
+     * Streams every matching wine through a server-side cursor. Must be called inside a transaction
+     * and the stream must be closed.
+     */
+    Stream<Wine> streamAll(Specification<Wine> specification, Sort sort);
+
+    /**
+     * Reads one page of matching wines selecting only the given columns, keyed by field name.
+     * No count query is issued.
+     */
+    Slice<Map<String, Object>> findFields(Specification<Wine> specification, Pageable pageable, List<String> fields);
+
+    /**
+     * Counts matching wines per value of each facet with a single grouped query, keyed by facet name.
+     */
+    Map<String, Map<Object, Long>> countFacets(Specification<Wine> specification, List<String> facets);
+
+    /**
+     * Writes only the given properties and bumps the version in a single statement, without loading the row first.
+     * Returns the updated wine, or empty when no wine has this id (and, if given, this version).
+     */
+    Optional<Wine> updateFields(UUID id, Map<String, Object> changes, Long expectedVersion);
+
+}
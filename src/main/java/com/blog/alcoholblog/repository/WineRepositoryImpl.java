@@ -0,0 +1,192 @@
+package com.blog.alcoholblog.repository;
+
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.projection.WineFields;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class WineRepositoryImpl implements WineRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.fetch-size}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Wine> streamAll(Specification<Wine> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Wine> query = cb.createQuery(Wine.class);
+        Root<Wine> root = query.from(Wine.class);
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Slice<Map<String, Object>> findFields(Specification<Wine> specification, Pageable pageable, List<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Wine> root = query.from(Wine.class);
+
+        query.select(cb.tuple(fields.stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList()));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = tuples.size() > pageable.getPageSize();
+        List<Map<String, Object>> content = new ArrayList<>(Math.min(tuples.size(), pageable.getPageSize()));
+        for (Tuple tuple : hasNext ? tuples.subList(0, pageable.getPageSize()) : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                Object value = tuple.get(element);
+                row.put(element.getAlias(), value instanceof UUID id ? id.toString() : value);
+            }
+            content.add(row);
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    @Override
+    public Map<String, Map<Object, Long>> countFacets(Specification<Wine> specification, List<String> facets) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Wine> root = query.from(Wine.class);
+
+        List<Expression<?>> groups = facets.stream().<Expression<?>>map(root::get).toList();
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(cb.count(root));
+        query.select(cb.tuple(selections));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(groups);
+
+        Map<String, Map<Object, Long>> counts = new LinkedHashMap<>();
+        facets.forEach(facet -> counts.put(facet, new HashMap<>()));
+
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            long count = tuple.get(facets.size(), Long.class);
+            for (int i = 0; i < facets.size(); i++) {
+                counts.get(facets.get(i)).merge(tuple.get(i), count, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Optional<Wine> updateFields(UUID id, Map<String, Object> changes, Long expectedVersion) {
+        changes.keySet().forEach(property -> {
+            if (!WineFields.COLUMNS.containsKey(property) || property.equals("id") || property.equals("version")) {
+                throw new IllegalArgumentException("Not an updatable wine property: " + property);
+            }
+        });
+        if (isPostgres()) {
+            return updateReturning(id, changes, expectedVersion);
+        }
+
+        // Databases without UPDATE ... RETURNING still get a targeted UPDATE, followed by a primary key read.
+        // The statement is JPQL text rather than a criteria update so Hibernate caches its translation.
+        StringJoiner assignments = new StringJoiner(", ");
+        changes.keySet().forEach(property -> assignments.add("w." + property + " = :" + property));
+        assignments.add("w.version = w.version + 1");
+
+        String jpql = "UPDATE Wine w SET " + assignments + " WHERE w.id = :id"
+                + (expectedVersion != null ? " AND w.version = :version" : "");
+        Query update = entityManager.createQuery(jpql).setParameter("id", id);
+        changes.forEach(update::setParameter);
+        if (expectedVersion != null) {
+            update.setParameter("version", expectedVersion);
+        }
+
+        if (update.executeUpdate() == 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityManager.find(Wine.class, id));
+    }
+
+    private Optional<Wine> updateReturning(UUID id, Map<String, Object> changes, Long expectedVersion) {
+        StringJoiner assignments = new StringJoiner(", ");
+        List<Object> parameters = new ArrayList<>();
+        changes.forEach((property, value) -> {
+            parameters.add(value);
+            assignments.add(WineFields.COLUMNS.get(property) + " = ?" + parameters.size());
+        });
+        assignments.add("version = version + 1");
+
+        parameters.add(id);
+        StringBuilder sql = new StringBuilder("UPDATE wines SET ").append(assignments)
+                .append(" WHERE id = ?").append(parameters.size());
+        if (expectedVersion != null) {
+            parameters.add(expectedVersion);
+            sql.append(" AND version = ?").append(parameters.size());
+        }
+        sql.append(" RETURNING *");
+
+        NativeQuery<Wine> query = entityManager.unwrap(Session.class)
+                .createNativeQuery(sql.toString(), Wine.class)
+                .addSynchronizedEntityClass(Wine.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query.getResultList().stream().findFirst();
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+}
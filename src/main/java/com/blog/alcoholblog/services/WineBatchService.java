@@ -0,0 +1,139 @@
+package com.blog.alcoholblog.services;
+
+import com.blog.alcoholblog.dto.*;
+import com.blog.alcoholblog.event.WinesCreatedEvent;
+import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Bulk insert path behind {@code POST /wines/batch}. Items are validated one by one, valid ones are
+ * inserted in chunks of {@code app.batch.chunk-size}, each chunk in its own transaction so Hibernate
+ * can send it as JDBC batches and a failing chunk doesn't roll back the ones before it.
+ */
+@Slf4j
+@Service
+@Timed(value = "wines.service", histogram = true)
+public class WineBatchService {
+
+    public static final String CONSTRAINT_VIOLATION = "constraint_violation";
+    public static final String INSERT_FAILED = "insert_failed";
+
+    private final WineRepository wineRepository;
+    private final WineMapper wineMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public WineBatchService(WineRepository wineRepository,
+                            WineMapper wineMapper,
+                            Validator validator,
+                            EntityManager entityManager,
+                            ApplicationEventPublisher eventPublisher,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.batch.chunk-size}") int chunkSize) {
+        this.wineRepository = wineRepository;
+        this.wineMapper = wineMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param items requests in submission order; a {@code null} item stands for an unreadable one
+     */
+    public BatchCreateResponseDTO createWines(Stream<CreateWineRequestDTO> items) {
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        List<CreateWineRequestDTO> chunk = new ArrayList<>(chunkSize);
+
+        Iterator<CreateWineRequestDTO> iterator = items.iterator();
+        int index = 0;
+        while (iterator.hasNext()) {
+            CreateWineRequestDTO item = iterator.next();
+            Map<String, String> errors = validate(item);
+
+            if (errors.isEmpty()) {
+                chunkIndexes.add(index);
+                chunk.add(item);
+            } else {
+                results.add(new BatchItemResultDTO(index, BatchItemStatus.INVALID, null, errors));
+            }
+
+            if (chunk.size() == chunkSize) {
+                results.addAll(insertChunk(chunkIndexes, chunk));
+                chunkIndexes.clear();
+                chunk.clear();
+            }
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(insertChunk(chunkIndexes, chunk));
+        }
+
+        results.sort(Comparator.comparingInt(BatchItemResultDTO::index));
+        int created = (int) results.stream().filter(result -> result.status() == BatchItemStatus.CREATED).count();
+
+        return new BatchCreateResponseDTO(index, created, index - created, results);
+    }
+
+    private List<BatchItemResultDTO> insertChunk(List<Integer> indexes, List<CreateWineRequestDTO> chunk) {
+        try {
+            List<BatchItemResultDTO> inserted = transactionTemplate.execute(status -> {
+                List<Wine> wines = wineRepository.saveAll(chunk.stream().map(wineMapper::toWine).toList());
+                wineRepository.flush();
+
+                List<WineResponseDTO> created = new ArrayList<>(wines.size());
+                List<BatchItemResultDTO> chunkResults = new ArrayList<>(wines.size());
+                for (int i = 0; i < wines.size(); i++) {
+                    WineResponseDTO wine = wineMapper.toWineResponseDTO(wines.get(i));
+                    created.add(wine);
+                    chunkResults.add(new BatchItemResultDTO(indexes.get(i), BatchItemStatus.CREATED, wine.id(), null));
+                }
+                eventPublisher.publishEvent(new WinesCreatedEvent(created));
+                entityManager.clear();
+                return chunkResults;
+            });
+            return Objects.requireNonNull(inserted);
+        } catch (DataAccessException | TransactionException ex) {
+            // The cause names constraints and SQL, so it stays in the log
+            log.warn("Batch chunk of {} wines failed", chunk.size(), ex);
+            Map<String, String> errors = Map.of("error", ex instanceof DataIntegrityViolationException
+                    ? CONSTRAINT_VIOLATION : INSERT_FAILED);
+            return indexes.stream()
+                    .map(index -> new BatchItemResultDTO(index, BatchItemStatus.FAILED, null, errors))
+                    .toList();
+        }
+    }
+
+    private Map<String, String> validate(CreateWineRequestDTO item) {
+        if (item == null) {
+            return Map.of("item", "must be a valid wine object");
+        }
+
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<CreateWineRequestDTO> violation : validator.validate(item)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+}
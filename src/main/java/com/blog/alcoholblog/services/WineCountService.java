@@ -0,0 +1,34 @@
+package com.blog.alcoholblog.services;
+
+import com.blog.alcoholblog.config.CacheConfig;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.specification.WineSpecification;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+@Service
+@Timed(value = "wines.service", histogram = true)
+@RequiredArgsConstructor
+public class WineCountService {
+
+    private final WineRepository wineRepository;
+
+    /**
+     * Approximate number of wines matching the criteria. An unfiltered catalog uses the planner's
+     * row estimate; filtered counts are real but cached briefly per normalized criteria.
+     */
+    @Cacheable(cacheNames = CacheConfig.WINE_COUNTS, key = "#criteriaDTO.normalized()")
+    public long estimateCount(WineSearchCriteriaDTO criteriaDTO) {
+        WineSearchCriteriaDTO normalized = criteriaDTO.normalized();
+        if (normalized.isEmpty()) {
+            long estimate = wineRepository.estimateRowCount();
+            if (estimate >= 0) {
+                return estimate;
+            }
+        }
+        return wineRepository.count(WineSpecification.wineSpecification(normalized));
+    }
+}
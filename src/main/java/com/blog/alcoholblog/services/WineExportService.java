@@ -0,0 +1,88 @@
+package com.blog.alcoholblog.services;
+
+import com.blog.alcoholblog.dto.ExportFormat;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.specification.WineSpecification;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every wine matching the criteria straight to the response. Rows come from a server-side
+ * cursor and are detached once written, so memory use doesn't depend on the catalog size.
+ */
+@Service
+@Timed(value = "wines.service", histogram = true)
+@RequiredArgsConstructor
+public class WineExportService {
+
+    private static final String CSV_HEADER = "id,name,year,color,state,winery,kind,sugar,alcohol,country,region,score,description,picture,version";
+
+    private final WineRepository wineRepository;
+    private final WineMapper wineMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(WineSearchCriteriaDTO criteriaDTO, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Wine> wines = wineRepository.streamAll(WineSpecification.wineSpecification(criteriaDTO), Sort.by("id"))) {
+            Iterator<Wine> iterator = wines.iterator();
+            while (iterator.hasNext()) {
+                Wine wine = iterator.next();
+                WineResponseDTO dto = wineMapper.toWineResponseDTO(wine);
+                entityManager.detach(wine);
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                }
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer writer, WineResponseDTO wine) throws IOException {
+        Object[] values = {wine.id(), wine.name(), wine.year(), wine.color(), wine.state(), wine.winery(), wine.kind(),
+                wine.sugar(), wine.alcohol(), wine.country(), wine.region(), wine.score(), wine.description(), wine.picture(),
+                wine.version()};
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,284 @@
+package com.blog.alcoholblog.services;
+
+import com.blog.alcoholblog.dto.ImageSize;
+import com.blog.alcoholblog.dto.UpdateWineRequestDTO;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.exception.ImageNotFoundException;
+import com.blog.alcoholblog.exception.InvalidImageException;
+import com.blog.alcoholblog.storage.ImageStorage;
+import com.blog.alcoholblog.storage.ImageStorage.StoredImage;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stores uploaded wine pictures under the SHA-256 of their bytes and renders the {@link ImageSize} thumbnails
+ * off the request thread. A thumbnail that isn't there yet is served as the original until it is.
+ * <p>
+ * Thumbnails are rendered on a small, bounded pool of their own, so a burst of uploads neither delays requests
+ * nor queues without limit. Work rejected by a full queue is picked up again when the thumbnail is requested.
+ */
+@Slf4j
+@Service
+@Timed(value = "wines.service", histogram = true)
+public class WineImageService implements DisposableBean {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final WineService wineService;
+    private final ImageStorage imageStorage;
+    private final TaskExecutor resizeExecutor;
+    private final Set<String> resizing = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.images.max-size}")
+    private DataSize maxSize = DataSize.ofMegabytes(10);
+
+    @Value("${app.images.max-pixels}")
+    private long maxPixels = 40_000_000;
+
+    @Autowired
+    public WineImageService(WineService wineService, ImageStorage imageStorage,
+                            @Value("${app.images.resize-threads}") int resizeThreads,
+                            @Value("${app.images.resize-queue}") int resizeQueue) {
+        this(wineService, imageStorage, resizePool(resizeThreads, resizeQueue));
+    }
+
+    public WineImageService(WineService wineService, ImageStorage imageStorage, TaskExecutor resizeExecutor) {
+        this.wineService = wineService;
+        this.imageStorage = imageStorage;
+        this.resizeExecutor = resizeExecutor;
+    }
+
+    @Override
+    public void destroy() {
+        if (resizeExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Stores the picture, points the wine at it and queues its thumbnails.
+     */
+    public WineResponseDTO upload(UUID id, MediaType contentType, InputStream body) throws IOException {
+        wineService.getWineById(id);
+
+        MediaType type = originalType(contentType);
+        byte[] bytes = readLimited(body);
+        checkDimensions(bytes, type);
+
+        String key = sha256(bytes);
+        if (!imageStorage.exists(key, ImageSize.ORIGINAL)) {
+            imageStorage.write(key, ImageSize.ORIGINAL, type, out -> out.write(bytes));
+        }
+        resizeInBackground(key);
+
+        UpdateWineRequestDTO patch = new UpdateWineRequestDTO(null, null, null, null, null, null, null, null,
+                null, null, null, null, ImageSize.URL_PREFIX + key);
+        return wineService.updateWine(id, patch, null);
+    }
+
+    /**
+     * The requested rendition, or the original while the thumbnail is still being rendered.
+     */
+    public StoredImage find(String key, ImageSize size) {
+        Optional<StoredImage> image = imageStorage.find(key, size);
+        if (image.isPresent()) {
+            return image.get();
+        }
+
+        StoredImage original = imageStorage.find(key, ImageSize.ORIGINAL)
+                .orElseThrow(() -> new ImageNotFoundException("Image " + key + " not found"));
+        resizeInBackground(key);
+        return original;
+    }
+
+    // Not a bean: any Executor bean would stop Boot from creating the applicationTaskExecutor that MVC async uses
+    private static ThreadPoolTaskExecutor resizePool(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-resize-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    private void resizeInBackground(String key) {
+        if (!resizing.add(key)) {
+            return;
+        }
+        try {
+            resizeExecutor.execute(() -> {
+                try {
+                    resize(key);
+                } catch (IOException | RuntimeException ex) {
+                    log.warn("Could not render thumbnails of image {}", key, ex);
+                } finally {
+                    resizing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Queue full, the next request for a missing thumbnail tries again
+            resizing.remove(key);
+        }
+    }
+
+    private void resize(String key) throws IOException {
+        StoredImage original = imageStorage.find(key, ImageSize.ORIGINAL).orElseThrow();
+        BufferedImage source = null;
+        for (ImageSize size : ImageSize.values()) {
+            if (size == ImageSize.ORIGINAL || imageStorage.exists(key, size)) {
+                continue;
+            }
+            if (source == null) {
+                source = ImageIO.read(original.path().toFile());
+                if (source == null) {
+                    throw new IOException("Unreadable original");
+                }
+            }
+            BufferedImage thumbnail = scale(source, size.maxDimension());
+            imageStorage.write(key, size, MediaType.IMAGE_JPEG, out -> writeJpeg(thumbnail, out));
+        }
+    }
+
+    /**
+     * Halves the image until it is within twice the target and draws the last step onto an opaque canvas, which
+     * keeps large downscales sharp and gives transparent PNGs the white background a JPEG needs.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width * 2 && current.getHeight() / 2 >= height * 2) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2, current.getColorModel().hasAlpha()
+                    ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB, null);
+        }
+        return draw(current, width, height, BufferedImage.TYPE_INT_RGB, Color.WHITE);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, int type, Color background) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (background != null) {
+                graphics.setColor(background);
+                graphics.fillRect(0, 0, width, height);
+            }
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static MediaType originalType(MediaType contentType) {
+        if (contentType != null) {
+            if (MediaType.IMAGE_JPEG.equalsTypeAndSubtype(contentType)) {
+                return MediaType.IMAGE_JPEG;
+            }
+            if (MediaType.IMAGE_PNG.equalsTypeAndSubtype(contentType)) {
+                return MediaType.IMAGE_PNG;
+            }
+        }
+        throw new InvalidImageException("Only image/jpeg and image/png pictures are supported");
+    }
+
+    private byte[] readLimited(InputStream body) throws IOException {
+        long limit = maxSize.toBytes();
+        byte[] bytes = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, limit + 1));
+        if (bytes.length > limit) {
+            throw new InvalidImageException("Picture is larger than " + maxSize);
+        }
+        if (bytes.length == 0) {
+            throw new InvalidImageException("Picture is empty");
+        }
+        return bytes;
+    }
+
+    /**
+     * Reads only the header, so oversized or mislabeled pictures are turned away before anything is decoded.
+     */
+    private void checkDimensions(byte[] bytes, MediaType type) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReadersByMIMEType(type.toString());
+            while (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    input.seek(0);
+                    if (!reader.getOriginatingProvider().canDecodeInput(input)) {
+                        continue;
+                    }
+                    reader.setInput(input, true, true);
+                    long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                    if (pixels > maxPixels) {
+                        throw new InvalidImageException("Picture has more than " + maxPixels + " pixels");
+                    }
+                    return;
+                } catch (IOException ex) {
+                    break;
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+        throw new InvalidImageException("Picture is not a valid " + type);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
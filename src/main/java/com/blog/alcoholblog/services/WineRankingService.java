@@ -0,0 +1,70 @@
+package com.blog.alcoholblog.services;
+
+import com.blog.alcoholblog.dto.RankingDimension;
+import com.blog.alcoholblog.dto.RankingGroupDTO;
+import com.blog.alcoholblog.dto.RankingsResponseDTO;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.index.WineRankings;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Best rated wines, overall or per group, from {@link WineRankings}. No query is run unless a ranked wine has
+ * dropped out of the wines cache. Rankings of every group are paged so a response never holds more than
+ * {@link #MAX_WINES} wines, however many regions or years the catalog has.
+ */
+@Service
+@Timed(value = "wines.service", histogram = true)
+@RequiredArgsConstructor
+public class WineRankingService {
+
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_WINES = 1_000;
+
+    private final WineRankings wineRankings;
+    private final WineService wineService;
+
+    /**
+     * @param by    the groups to rank within, {@code null} for a single ranking of the whole catalog
+     * @param value only this group, {@code null} for every group
+     * @param after with every group, continue after this group value, the {@code next} of the previous response
+     */
+    public RankingsResponseDTO getRankings(RankingDimension by, String value, String after, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid limit parameter");
+        }
+
+        Map<String, List<UUID>> ranked;
+        String next = null;
+        if (by == null) {
+            ranked = Map.of("all", wineRankings.top(limit));
+        } else if (value != null) {
+            ranked = Map.of(value, wineRankings.top(by, value, limit));
+        } else {
+            WineRankings.GroupPage page = wineRankings.topPerGroup(by, after, limit, MAX_WINES / limit);
+            ranked = page.groups();
+            next = page.next();
+        }
+
+        List<UUID> ids = ranked.values().stream().flatMap(List::stream).toList();
+        Map<String, WineResponseDTO> wines = wineService.getWinesByIds(ids).stream()
+                .collect(Collectors.toMap(WineResponseDTO::id, Function.identity()));
+
+        List<RankingGroupDTO> groups = new ArrayList<>(ranked.size());
+        ranked.forEach((group, groupIds) -> groups.add(new RankingGroupDTO(group, groupIds.stream()
+                .map(id -> wines.get(id.toString()))
+                .filter(Objects::nonNull)
+                .toList())));
+
+        return new RankingsResponseDTO(by == null ? null : by.name().toLowerCase(), limit, groups, next);
+    }
+}
@@ -1,69 +1,295 @@
 package com.blog.alcoholblog.services;
 
+import com.blog.alcoholblog.config.CacheConfig;
 import com.blog.alcoholblog.dto.*;
+import com.blog.alcoholblog.event.WineChangedEvent;
 import com.blog.alcoholblog.exception.WineNotFoundException;
+import com.blog.alcoholblog.exception.PreconditionFailedException;
+import com.blog.alcoholblog.index.ColumnarCatalog;
 import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.metrics.QueryLog;
 import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.pagination.WineCursor;
 import com.blog.alcoholblog.repository.WineRepository;
 import com.blog.alcoholblog.specification.WineSpecification;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
+@Timed(value = "wines.service", histogram = true)
 @RequiredArgsConstructor
 public class WineService {
 
+    /**
+     * Ids per {@code findAllById}, well below PostgreSQL's limit of 65,535 bind parameters per statement.
+     */
+    public static final int MAX_IDS_PER_QUERY = 1_000;
+
     private final WineRepository wineRepository;
     private final WineMapper wineMapper;
+    private final WineCountService wineCountService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QueryLog queryLog;
+    private final CacheManager cacheManager;
+    private final ColumnarCatalog columnarCatalog;
 
+    @Cacheable(cacheNames = CacheConfig.WINES, key = "#id")
     public WineResponseDTO getWineById(UUID id) {
         Wine wine = wineRepository.findById(id).orElseThrow(() -> new WineNotFoundException(id.toString()));
 
         return wineMapper.toWineResponseDTO(wine);
     }
 
+    /**
+     * Wines with these ids in the given order, from the wines cache and with one query per
+     * {@link #MAX_IDS_PER_QUERY} of those that aren't cached. Ids of wines that no longer exist are skipped.
+     */
+    public List<WineResponseDTO> getWinesByIds(List<UUID> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.WINES);
+        Map<UUID, WineResponseDTO> wines = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            WineResponseDTO cached = cache == null ? null : cache.get(id, WineResponseDTO.class);
+            if (cached != null) {
+                wines.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += MAX_IDS_PER_QUERY) {
+            List<UUID> chunk = missing.subList(from, Math.min(from + MAX_IDS_PER_QUERY, missing.size()));
+            for (Wine wine : wineRepository.findAllById(chunk)) {
+                WineResponseDTO dto = wineMapper.toWineResponseDTO(wine);
+                wines.put(wine.getId(), dto);
+                if (cache != null) {
+                    cache.put(wine.getId(), dto);
+                }
+            }
+        }
+        return ids.stream().map(wines::get).filter(Objects::nonNull).toList();
+    }
+
     public PageResponseDTO<WineResponseDTO> getAllWines(Pageable pageable, WineSearchCriteriaDTO criteriaDTO) {
+        return getAllWines(pageable, criteriaDTO, TotalsMode.EXACT);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.WINE_PAGES,
+            key = "T(com.blog.alcoholblog.cache.WinePageKey).of(@catalogVersion.current(), #criteriaDTO, #pageable, #totals)")
+    public PageResponseDTO<WineResponseDTO> getAllWines(Pageable pageable, WineSearchCriteriaDTO criteriaDTO, TotalsMode totals) {
+        Optional<ColumnarCatalog.ColumnarPage> columnarPage = columnarCatalog.search(criteriaDTO, pageable);
+        if (columnarPage.isPresent()) {
+            return toPageResponse(columnarPage.get(), pageable, totals);
+        }
+
         Specification<Wine> specification = WineSpecification.wineSpecification(criteriaDTO);
-        Page<Wine> winePage = wineRepository.findAll(specification, pageable);
 
-        return new PageResponseDTO<>(
-                wineMapper.toWineResponseDTOList(winePage.getContent()),
-                winePage.getNumber() + 1,
-                winePage.getTotalPages(),
-                winePage.getTotalElements(),
-                winePage.getSize()
+        if (totals == TotalsMode.EXACT) {
+            Page<Wine> winePage = queryLog.time("page", criteriaDTO, pageable.getSort(), pageable.toString(),
+                    () -> wineRepository.findAll(specification, pageable));
+
+            return new PageResponseDTO<>(
+                    wineMapper.toWineResponseDTOList(winePage.getContent()),
+                    winePage.getNumber() + 1,
+                    winePage.getTotalPages(),
+                    winePage.getTotalElements(),
+                    winePage.getSize(),
+                    winePage.hasNext(),
+                    totals
+            );
+        }
+
+        Slice<Wine> wineSlice = queryLog.time("slice", criteriaDTO, pageable.getSort(), pageable.toString(),
+                () -> wineRepository.findBy(specification, query -> query.slice(pageable)));
+
+        return toPageResponse(wineMapper.toWineResponseDTOList(wineSlice.getContent()), wineSlice, criteriaDTO, totals);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.WINE_PAGES,
+            key = "T(com.blog.alcoholblog.cache.WinePageKey).of(@catalogVersion.current(), #criteriaDTO, #pageable, #totals, #fields)")
+    public PageResponseDTO<Map<String, Object>> getAllWineFields(Pageable pageable, WineSearchCriteriaDTO criteriaDTO,
+                                                                 TotalsMode totals, List<String> fields) {
+        Specification<Wine> specification = WineSpecification.wineSpecification(criteriaDTO);
+        Slice<Map<String, Object>> fieldSlice = queryLog.time("fields", criteriaDTO, pageable.getSort(), pageable.toString(),
+                () -> wineRepository.findFields(specification, pageable, fields));
+
+        if (totals == TotalsMode.EXACT) {
+            Page<Map<String, Object>> fieldPage = PageableExecutionUtils.getPage(
+                    fieldSlice.getContent(), pageable, () -> queryLog.time("count", criteriaDTO, Sort.unsorted(), pageable.toString(),
+                            () -> wineRepository.count(specification)));
+
+            return new PageResponseDTO<>(
+                    fieldPage.getContent(),
+                    fieldPage.getNumber() + 1,
+                    fieldPage.getTotalPages(),
+                    fieldPage.getTotalElements(),
+                    fieldPage.getSize(),
+                    fieldSlice.hasNext(),
+                    totals
+            );
+        }
+
+        return toPageResponse(fieldSlice.getContent(), fieldSlice, criteriaDTO, totals);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.WINE_FACETS, key = "{@catalogVersion.current(), #criteriaDTO.normalized(), #facets}")
+    public FacetsResponseDTO getFacets(WineSearchCriteriaDTO criteriaDTO, List<String> facets) {
+        Specification<Wine> specification = WineSpecification.wineSpecification(criteriaDTO);
+        Map<String, Map<Object, Long>> counts = queryLog.time("facets", criteriaDTO, Sort.unsorted(), "facets " + facets,
+                () -> wineRepository.countFacets(specification, facets));
+
+        Map<String, List<FacetCountDTO>> facetCounts = new LinkedHashMap<>();
+        counts.forEach((facet, valueCounts) -> facetCounts.put(facet, valueCounts.entrySet().stream()
+                .map(entry -> new FacetCountDTO(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(FacetCountDTO::count).reversed()
+                        .thenComparing(facetCount -> String.valueOf(facetCount.value())))
+                .toList()));
+
+        long totalElements = counts.isEmpty() ? 0 : counts.values().iterator().next().values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        return new FacetsResponseDTO(totalElements, facetCounts);
+    }
+
+    public CursorPageResponseDTO<WineResponseDTO> getWinesByCursor(WineCursor cursor, int pageSize, WineSearchCriteriaDTO criteriaDTO) {
+        Specification<Wine> specification = WineSpecification.wineSpecification(criteriaDTO);
+        Window<Wine> window = queryLog.time("cursor", criteriaDTO, cursor.sort(), "cursor, size " + pageSize,
+                () -> wineRepository.findBy(specification, query -> query
+                        .sortBy(cursor.sort())
+                        .limit(pageSize)
+                        .scroll(cursor.position())));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition lastRow = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = cursor.next(lastRow).encode();
+        }
+
+        return new CursorPageResponseDTO<>(
+                wineMapper.toWineResponseDTOList(window.getContent()),
+                nextCursor,
+                window.hasNext(),
+                pageSize
         );
     }
 
     @Transactional
+    @CachePut(cacheNames = CacheConfig.WINES, key = "T(java.util.UUID).fromString(#result.id())")
     public WineResponseDTO createWine(CreateWineRequestDTO createWineRequestDTO) {
         Wine wineToSave = wineMapper.toWine(createWineRequestDTO);
         Wine savedWine = wineRepository.save(wineToSave);
-        return wineMapper.toWineResponseDTO(savedWine);
+        WineResponseDTO createdWine = wineMapper.toWineResponseDTO(savedWine);
+
+        eventPublisher.publishEvent(WineChangedEvent.saved(createdWine));
+        return createdWine;
     }
 
     @Transactional
-    public WineResponseDTO updateWine(UUID id, UpdateWineRequestDTO updateWineRequestDTO) {
-        Wine wineToUpdate = wineRepository.findById(id)
-                .orElseThrow(() -> new WineNotFoundException(id.toString()));
+    @CachePut(cacheNames = CacheConfig.WINES, key = "#id")
+    public WineResponseDTO updateWine(UUID id, UpdateWineRequestDTO updateWineRequestDTO, Long expectedVersion) {
+        Map<String, Object> changes = updateWineRequestDTO.changes();
+        if (changes.isEmpty()) {
+            Wine wine = wineRepository.findById(id)
+                    .orElseThrow(() -> new WineNotFoundException(id.toString()));
+            if (expectedVersion != null && !expectedVersion.equals(wine.getVersion())) {
+                throw versionMismatch(id, expectedVersion);
+            }
+            return wineMapper.toWineResponseDTO(wine);
+        }
 
-        wineMapper.updateWineFromDTO(updateWineRequestDTO, wineToUpdate);
-        Wine updatedWine = wineRepository.save(wineToUpdate);
-        return wineMapper.toWineResponseDTO(updatedWine);
+        Wine updatedWine = wineRepository.updateFields(id, changes, expectedVersion)
+                .orElseThrow(() -> wineRepository.existsById(id)
+                        ? versionMismatch(id, expectedVersion)
+                        : new WineNotFoundException(id.toString()));
+        WineResponseDTO updatedWineDTO = wineMapper.toWineResponseDTO(updatedWine);
+
+        eventPublisher.publishEvent(WineChangedEvent.saved(updatedWineDTO));
+        return updatedWineDTO;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.WINES, key = "#id")
     public void deleteWineById(UUID id) {
         int deleted = wineRepository.deleteByIdReturningCount(id);
         if (deleted == 0) {
             throw new WineNotFoundException("Wine with ID: " + id + " not found");
         }
+
+        eventPublisher.publishEvent(WineChangedEvent.deleted(id));
+    }
+
+    private static PreconditionFailedException versionMismatch(UUID id, Long expectedVersion) {
+        return new PreconditionFailedException("Wine with ID: " + id + " is no longer at version " + expectedVersion);
+    }
+
+    /**
+     * A page found in memory. Totals are left out for {@link TotalsMode#NONE} like on the database path; otherwise the
+     * exact count is reported, since it is free here and no estimate could be closer.
+     */
+    private PageResponseDTO<WineResponseDTO> toPageResponse(ColumnarCatalog.ColumnarPage page, Pageable pageable, TotalsMode totals) {
+        long matching = page.totalElements();
+        int size = pageable.isPaged() ? pageable.getPageSize() : (int) matching;
+        int number = pageable.isPaged() ? pageable.getPageNumber() : 0;
+        int totalPages = size == 0 ? 1 : (int) Math.ceilDiv(matching, size);
+        boolean withTotals = totals != TotalsMode.NONE;
+
+        return new PageResponseDTO<>(
+                getWinesByIds(page.ids()),
+                number + 1,
+                withTotals ? totalPages : null,
+                withTotals ? matching : null,
+                size,
+                number + 1 < totalPages,
+                totals
+        );
+    }
+
+    private <T> PageResponseDTO<T> toPageResponse(List<T> content, Slice<?> slice, WineSearchCriteriaDTO criteriaDTO, TotalsMode totals) {
+        Integer totalPages = null;
+        Long totalElements = null;
+
+        if (totals == TotalsMode.ESTIMATED) {
+            long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+            totalElements = Math.max(wineCountService.estimateCount(criteriaDTO), seen);
+            totalPages = (int) Math.ceilDiv(totalElements, slice.getSize());
+        }
+
+        return new PageResponseDTO<>(
+                content,
+                slice.getNumber() + 1,
+                totalPages,
+                totalElements,
+                slice.getSize(),
+                slice.hasNext(),
+                totals
+        );
     }
 
 }
@@ -0,0 +1,37 @@
+package com.blog.alcoholblog.services;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.exception.WineNotFoundException;
+import com.blog.alcoholblog.index.WineSimilarityIndex;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Timed(value = "wines.service", histogram = true)
+@RequiredArgsConstructor
+public class WineSimilarityService {
+
+    public static final int MAX_LIMIT = 50;
+
+    private final WineSimilarityIndex wineSimilarityIndex;
+    private final WineService wineService;
+
+    /**
+     * The wines most like this one, most similar first.
+     */
+    public List<WineResponseDTO> getSimilarWines(UUID id, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid limit parameter");
+        }
+
+        List<WineSimilarityIndex.Neighbour> neighbours = wineSimilarityIndex.nearest(id, limit);
+        if (neighbours == null) {
+            throw new WineNotFoundException("Wine with ID: " + id + " not found");
+        }
+        return wineService.getWinesByIds(neighbours.stream().map(WineSimilarityIndex.Neighbour::id).toList());
+    }
+}
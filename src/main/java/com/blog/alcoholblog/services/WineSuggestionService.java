@@ -0,0 +1,35 @@
+package com.blog.alcoholblog.services;
+
+import com.blog.alcoholblog.dto.SuggestField;
+import com.blog.alcoholblog.dto.SuggestionsResponseDTO;
+import com.blog.alcoholblog.index.WineSuggestions;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Typeahead for the search box, answered from {@link WineSuggestions} without touching the database.
+ */
+@Service
+@Timed(value = "wines.service", histogram = true)
+@RequiredArgsConstructor
+public class WineSuggestionService {
+
+    public static final int MAX_PREFIX_LENGTH = 100;
+
+    private final WineSuggestions wineSuggestions;
+
+    public SuggestionsResponseDTO suggest(SuggestField field, String prefix, int limit) {
+        if (limit < 1 || limit > WineSuggestions.MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid limit parameter");
+        }
+        if (!StringUtils.hasText(prefix) || prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Invalid prefix parameter");
+        }
+
+        String trimmed = prefix.stripLeading();
+        return new SuggestionsResponseDTO(field.name().toLowerCase(), trimmed,
+                wineSuggestions.suggest(field, trimmed, limit));
+    }
+}
@@ -12,6 +12,8 @@ import java.util.List;
 
 public class WineSpecification {
 
+    static final char LIKE_ESCAPE = '\\';
+
     public static Specification<Wine> wineSpecification(WineSearchCriteriaDTO criteriaDTO) {
         return (root, query, cb) -> {
 
@@ -55,8 +57,19 @@ public class WineSpecification {
                                          jakarta.persistence.criteria.Path<String> field,
                                          String value) {
         if (StringUtils.hasText(value)) {
-            String pattern = "%" + value.toLowerCase() + "%";
-            predicates.add(cb.like(cb.lower(field), pattern));
+            predicates.add(cb.like(cb.lower(field), containsPattern(value), LIKE_ESCAPE));
         }
     }
+
+    /**
+     * A LIKE pattern matching values that contain {@code value} literally, ignoring case, so that {@code %} and
+     * {@code _} in a filter match themselves as they do in the columnar catalog.
+     */
+    static String containsPattern(String value) {
+        String escaped = value.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 }
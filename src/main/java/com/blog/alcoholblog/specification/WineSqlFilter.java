@@ -0,0 +1,58 @@
+package com.blog.alcoholblog.specification;
+
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The predicates of {@link WineSpecification} as a plain SQL {@code WHERE} clause with named bind markers, for
+ * readers that query {@code wines} without JPA. Both must stay in step.
+ */
+public record WineSqlFilter(String where, Map<String, Object> bindings) {
+
+    public static WineSqlFilter of(WineSearchCriteriaDTO criteriaDTO) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+
+        // --- STRING FIELDS (LIKE) ---
+        addLikeIfPresent(predicates, bindings, "name", criteriaDTO.name());
+        addLikeIfPresent(predicates, bindings, "color", criteriaDTO.color());
+        addLikeIfPresent(predicates, bindings, "winery", criteriaDTO.winery());
+        addLikeIfPresent(predicates, bindings, "kind", criteriaDTO.kind());
+        addLikeIfPresent(predicates, bindings, "country", criteriaDTO.country());
+        addLikeIfPresent(predicates, bindings, "region", criteriaDTO.region());
+
+        // --- EXACT MATCH ---
+        addIfPresent(predicates, bindings, "year = :year", "year", criteriaDTO.year());
+
+        // --- SCORE RANGE ---
+        addIfPresent(predicates, bindings, "score >= :minScore", "minScore", criteriaDTO.minScore());
+        addIfPresent(predicates, bindings, "score <= :maxScore", "maxScore", criteriaDTO.maxScore());
+
+        // --- ALCOHOL RANGE ---
+        addIfPresent(predicates, bindings, "alcohol >= :minAlcohol", "minAlcohol", criteriaDTO.minAlcohol());
+        addIfPresent(predicates, bindings, "alcohol <= :maxAlcohol", "maxAlcohol", criteriaDTO.maxAlcohol());
+
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        return new WineSqlFilter(where, bindings);
+    }
+
+    private static void addLikeIfPresent(List<String> predicates, Map<String, Object> bindings, String column, String value) {
+        if (StringUtils.hasText(value)) {
+            predicates.add("lower(" + column + ") LIKE :" + column + " ESCAPE '" + WineSpecification.LIKE_ESCAPE + "'");
+            bindings.put(column, WineSpecification.containsPattern(value));
+        }
+    }
+
+    private static void addIfPresent(List<String> predicates, Map<String, Object> bindings, String predicate,
+                                     String parameter, Object value) {
+        if (value != null) {
+            predicates.add(predicate);
+            bindings.put(parameter, value);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.blog.alcoholblog.storage;
+
+import com.blog.alcoholblog.dto.ImageSize;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Pictures on the local filesystem, addressed by the SHA-256 of the uploaded bytes:
+ * {@code <directory>/ab/abcdef.../original.png} next to {@code small.jpg}, {@code medium.jpg} and {@code large.jpg}.
+ * A key never changes content, so files are written once through a temporary file and then only read.
+ */
+@Component
+public class ImageStorage {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final List<MediaType> ORIGINAL_TYPES = List.of(MediaType.IMAGE_JPEG, MediaType.IMAGE_PNG);
+
+    private final Path directory;
+
+    public ImageStorage(@Value("${app.images.directory}") Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory.toAbsolutePath().normalize());
+    }
+
+    public static boolean isValidKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+
+    public Optional<StoredImage> find(String key, ImageSize size) {
+        if (!isValidKey(key)) {
+            return Optional.empty();
+        }
+        List<MediaType> types = size == ImageSize.ORIGINAL ? ORIGINAL_TYPES : List.of(MediaType.IMAGE_JPEG);
+        for (MediaType type : types) {
+            Path path = path(key, size, type);
+            if (Files.isRegularFile(path)) {
+                return Optional.of(new StoredImage(key, size, type, path));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean exists(String key, ImageSize size) {
+        return find(key, size).isPresent();
+    }
+
+    public void write(String key, ImageSize size, MediaType type, ImageWriter writer) throws IOException {
+        Path target = path(key, size, type);
+        Files.createDirectories(target.getParent());
+
+        Path temporary = Files.createTempFile(target.getParent(), size.path(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                writer.write(out);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private Path path(String key, ImageSize size, MediaType type) {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid image key");
+        }
+        String extension = MediaType.IMAGE_PNG.equalsTypeAndSubtype(type) ? ".png" : ".jpg";
+        return directory.resolve(key.substring(0, 2)).resolve(key).resolve(size.path() + extension);
+    }
+
+    @FunctionalInterface
+    public interface ImageWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    public record StoredImage(String key, ImageSize size, MediaType mediaType, Path path) {
+    }
+}
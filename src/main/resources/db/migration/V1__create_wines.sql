@@ -0,0 +1,19 @@
+-- The wines table as previously generated by Hibernate (ddl-auto=update). Existing databases are baselined at
+-- this version, see spring.flyway.baseline-on-migrate.
+CREATE TABLE IF NOT EXISTS wines
+(
+    id          uuid             NOT NULL PRIMARY KEY,
+    name        varchar(255)     NOT NULL,
+    year        integer          NOT NULL,
+    color       varchar(255)     NOT NULL,
+    state       varchar(255)     NOT NULL,
+    winery      varchar(255)     NOT NULL,
+    kind        varchar(255)     NOT NULL,
+    sugar       double precision NOT NULL,
+    alcohol     double precision NOT NULL,
+    country     varchar(255)     NOT NULL,
+    region      varchar(255)     NOT NULL,
+    score       double precision NOT NULL,
+    description text             NOT NULL,
+    picture     varchar(255)     NOT NULL
+);
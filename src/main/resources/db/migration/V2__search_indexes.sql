@@ -0,0 +1,37 @@
+-- Indexes for the queries WineSpecification and the wine endpoints generate.
+
+-- Sorts and keyset pages: ORDER BY <field> [, id], optionally behind a range filter on the same field.
+-- name is the default sort of GET /wines.
+CREATE INDEX IF NOT EXISTS idx_wines_name_id ON wines (name, id);
+CREATE INDEX IF NOT EXISTS idx_wines_score_id ON wines (score, id);
+CREATE INDEX IF NOT EXISTS idx_wines_alcohol_id ON wines (alcohol, id);
+
+-- year is the only equality filter, usually combined with a score range or a score sort (and year sorts).
+CREATE INDEX IF NOT EXISTS idx_wines_year_score_id ON wines (year, score, id);
+
+-- Text filters are lower(column) LIKE '%value%', which only a trigram index on the same expression can serve.
+-- pg_trgm needs CREATE privilege on the database; without it the filters keep scanning the table.
+DO
+$$
+    BEGIN
+        CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    EXCEPTION
+        WHEN insufficient_privilege OR feature_not_supported OR undefined_file THEN
+            RAISE WARNING 'pg_trgm is not available, text filters will scan the wines table: %', SQLERRM;
+    END
+$$;
+
+DO
+$$
+    DECLARE
+        search_column text;
+    BEGIN
+        IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+            FOREACH search_column IN ARRAY ARRAY ['name', 'color', 'winery', 'kind', 'country', 'region']
+                LOOP
+                    EXECUTE format('CREATE INDEX IF NOT EXISTS idx_wines_%s_trgm ON wines USING gin (lower(%I) gin_trgm_ops)',
+                                   search_column, search_column);
+                END LOOP;
+        END IF;
+    END
+$$;
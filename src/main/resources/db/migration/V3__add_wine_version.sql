@@ -0,0 +1,2 @@
+-- Optimistic locking column for Wine's @Version. Kept out of V1, which baselined databases never run.
+ALTER TABLE wines ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
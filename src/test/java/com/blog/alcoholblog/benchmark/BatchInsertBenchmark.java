@@ -0,0 +1,76 @@
+package com.blog.alcoholblog.benchmark;
+
+import com.blog.alcoholblog.dto.BatchCreateResponseDTO;
+import com.blog.alcoholblog.dto.CreateWineRequestDTO;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.services.WineBatchService;
+import com.blog.alcoholblog.services.WineService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows/sec of {@code WineService.createWine} (one transaction per row, as {@code POST /wines} does)
+ * against {@code WineBatchService.createWines} (chunked, JDBC-batched).
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=BatchInsertBenchmark -Dbench.rows=20000}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BatchInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 20_000);
+
+    @Autowired
+    private WineService wineService;
+
+    @Autowired
+    private WineBatchService wineBatchService;
+
+    @Autowired
+    private WineRepository wineRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        BenchmarkDatabase.register(registry);
+    }
+
+    @Test
+    void batchVersusSingleInsertThroughput() {
+        wineService.createWine(wine(-1));
+
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            wineService.createWine(wine(i));
+        }
+        double singleSeconds = (System.nanoTime() - singleStart) / 1e9;
+
+        long batchStart = System.nanoTime();
+        BatchCreateResponseDTO response = wineBatchService.createWines(IntStream.range(0, ROWS).mapToObj(BatchInsertBenchmark::wine));
+        double batchSeconds = (System.nanoTime() - batchStart) / 1e9;
+
+        assertEquals(ROWS, response.created());
+
+        System.out.printf("database: %s, rows per run: %d%n", BenchmarkDatabase.describe(), ROWS);
+        System.out.printf("%-14s %10.2fs %12.0f rows/s%n", "single insert", singleSeconds, ROWS / singleSeconds);
+        System.out.printf("%-14s %10.2fs %12.0f rows/s%n", "batch insert", batchSeconds, ROWS / batchSeconds);
+
+        wineRepository.deleteAllInBatch();
+    }
+
+    private static CreateWineRequestDTO wine(int i) {
+        return new CreateWineRequestDTO(
+                "Benchmark Wine " + i, 1990 + i % 35, i % 2 == 0 ? "Red" : "White", "Dry",
+                "Winery " + i % 500, "Merlot", 1.5, 13.0, "Serbia", "Fruska Gora",
+                50.0 + i % 50, Stream.generate(() -> "Tasting note.").limit(20).reduce("", String::concat), "pic.jpg"
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package com.blog.alcoholblog.benchmark;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Connection settings for benchmarks. Benchmarks delete and reseed {@code wines}, so they only ever run against the
+ * PostgreSQL database named by {@code BENCH_DB_URL} (with {@code BENCH_DB_USERNAME}/{@code BENCH_DB_PASSWORD}),
+ * never the application's {@code DB_URL}. Without it, or when it is not reachable, Spring based benchmarks use an
+ * in-memory H2 in PostgreSQL mode and PostgreSQL only benchmarks are skipped.
+ */
+final class BenchmarkDatabase {
+
+    static final String URL = env("BENCH_DB_URL", null);
+    static final String USERNAME = env("BENCH_DB_USERNAME", "admin_user");
+    static final String PASSWORD = env("BENCH_DB_PASSWORD", "password");
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1";
+
+    private BenchmarkDatabase() {
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    }
+
+    static boolean isAvailable() {
+        if (URL == null) {
+            return false;
+        }
+        try (Connection ignored = connect()) {
+            return true;
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Points the application context at PostgreSQL when reachable, otherwise at the H2 stand-in. The migrations are
+     * PostgreSQL specific, so Hibernate creates the H2 schema instead.
+     */
+    static void register(DynamicPropertyRegistry registry) {
+        properties().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    /**
+     * The same settings as {@link #register}, for applications started outside the test context.
+     */
+    static Map<String, Object> properties() {
+        if (isAvailable()) {
+            return Map.of(
+                    "spring.datasource.url", URL,
+                    "spring.datasource.username", USERNAME,
+                    "spring.datasource.password", PASSWORD);
+        }
+        return Map.of(
+                "spring.datasource.url", H2_URL,
+                "spring.datasource.username", "sa",
+                "spring.datasource.password", "",
+                "spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect",
+                "spring.flyway.enabled", "false",
+                "spring.jpa.hibernate.ddl-auto", "create");
+    }
+
+    static String describe() {
+        return isAvailable() ? URL : "H2 (PostgreSQL mode, in-memory)";
+    }
+
+    /**
+     * Whether a connection with this URL may be wiped: the H2 stand-in or the explicitly configured benchmark database.
+     */
+    static boolean isDisposable(String url) {
+        return url.startsWith("jdbc:h2:mem:benchmark") || url.equals(URL);
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
@@ -0,0 +1,227 @@
+package com.blog.alcoholblog.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives read, search and write scenarios through the full HTTP, controller, cache and JPA stack against a seeded
+ * catalog, and writes throughput, latency percentiles and SQL statements per request to a JSON report that can be
+ * diffed between builds.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=CatalogLoadBenchmark -Dbench.rows=1000000 -Dbench.concurrency=32}.
+ * Further knobs: {@code bench.requests} per scenario, {@code bench.cache=false} to send every read to the database,
+ * and {@code bench.report} for the report path (default {@code target/load-report.json}).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CatalogLoadBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 10_000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 16);
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 5_000);
+    private static final boolean CACHE = Boolean.parseBoolean(System.getProperty("bench.cache", "true"));
+    private static final Path REPORT = Path.of(System.getProperty("bench.report", "target/load-report.json"));
+
+    private static final List<String> SORTS = List.of("name", "score", "year");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private List<UUID> ids;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        BenchmarkDatabase.register(registry);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        if (!CACHE) {
+            registry.add("spring.cache.type", () -> "none");
+        }
+    }
+
+    @Test
+    void catalogLoad() throws Exception {
+        CatalogSeeder.seed(jdbcTemplate, ROWS);
+        ids = jdbcTemplate.queryForList("SELECT id FROM wines LIMIT 10000", UUID.class);
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("detail", random -> get("/wines/" + randomId(random))),
+                new Scenario("browse", random -> get("/wines?pageSize=12&pageNo=" + (1 + random.nextInt(20))
+                        + "&sortBy=" + pick(SORTS, random) + "&sortOrder=" + (random.nextBoolean() ? "ASC" : "DESC"))),
+                new Scenario("search", random -> get("/wines?pageSize=12&color=" + pick(CatalogSeeder.COLORS, random)
+                        + "&country=" + pick(CatalogSeeder.COUNTRIES, random) + "&minScore=" + (60 + random.nextInt(35)))),
+                new Scenario("cursor", random -> get("/wines?cursor=&pageSize=24&sortBy=score&sortOrder=DESC&kind="
+                        + pick(CatalogSeeder.KINDS, random).replace(" ", "%20"))),
+                new Scenario("facets", random -> get("/wines/facets?country=" + pick(CatalogSeeder.COUNTRIES, random))),
+                new Scenario("write", this::write),
+                new Scenario("mixed", this::mixed)
+        );
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            drive(scenario, Math.min(REQUESTS, 500));
+
+            long statementsBefore = statistics.getPrepareStatementCount();
+            ScenarioResult result = drive(scenario, REQUESTS)
+                    .withStatements(statistics.getPrepareStatementCount() - statementsBefore);
+            results.add(result);
+
+            System.out.printf("%-8s %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  p999 %7.2f ms  %5.2f statements/req  %d errors%n",
+                    result.name(), result.throughputPerSecond(), result.p50Millis(), result.p99Millis(),
+                    result.p999Millis(), result.statementsPerRequest(), result.errors());
+        }
+
+        LoadReport report = new LoadReport(Instant.now().toString(), BenchmarkDatabase.describe(), ROWS, CONCURRENCY,
+                REQUESTS, CACHE, results);
+        ObjectMapper objectMapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        objectMapper.writeValue(REPORT.toFile(), report);
+        System.out.println("report: " + REPORT.toAbsolutePath());
+
+        results.forEach(result -> assertTrue(result.errors() == 0, result.name() + " had failing requests"));
+    }
+
+    private ScenarioResult drive(Scenario scenario, int requests) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        LongAdder errors = new LongAdder();
+        List<Latencies> perClient = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int c = 0; c < CONCURRENCY; c++) {
+            Latencies latencies = new Latencies();
+            perClient.add(latencies);
+            clients.add(Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (remaining.decrementAndGet() >= 0) {
+                    HttpRequest request = scenario.request().apply(random);
+                    long sent = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 400) {
+                            errors.increment();
+                        }
+                    } catch (Exception ex) {
+                        errors.increment();
+                    }
+                    latencies.record(System.nanoTime() - sent);
+                }
+            }));
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Latencies all = new Latencies();
+        perClient.forEach(all::addAll);
+        return new ScenarioResult(scenario.name(), requests, errors.sum(), requests / seconds,
+                all.percentileMillis(50), all.percentileMillis(99), all.percentileMillis(99.9), 0, 0);
+    }
+
+    private HttpRequest mixed(ThreadLocalRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 30) {
+            return get("/wines/" + randomId(random));
+        }
+        if (roll < 55) {
+            return get("/wines?pageSize=12&pageNo=" + (1 + random.nextInt(20)) + "&sortBy=" + pick(SORTS, random));
+        }
+        if (roll < 75) {
+            return get("/wines?pageSize=12&color=" + pick(CatalogSeeder.COLORS, random) + "&country=" + pick(CatalogSeeder.COUNTRIES, random));
+        }
+        if (roll < 85) {
+            return get("/wines?cursor=&pageSize=24&sortBy=score&sortOrder=DESC");
+        }
+        if (roll < 90) {
+            return get("/wines/facets?color=" + pick(CatalogSeeder.COLORS, random));
+        }
+        return write(random);
+    }
+
+    private HttpRequest write(ThreadLocalRandom random) {
+        if (random.nextBoolean()) {
+            return HttpRequest.newBuilder(uri("/wines/" + randomId(random)))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"score\":" + (60 + random.nextInt(40)) + "}"))
+                    .build();
+        }
+        String body = """
+                {"name":"Load Wine %d","year":2020,"color":"Red","state":"Dry","winery":"Load Winery","kind":"Merlot",\
+                "sugar":2.0,"alcohol":13.5,"country":"Serbia","region":"Srem","score":85.0,\
+                "description":"Written by the load harness.","picture":"load.jpg"}""".formatted(random.nextInt(1_000_000));
+        return HttpRequest.newBuilder(uri("/wines"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private UUID randomId(ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String pick(List<String> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private record Scenario(String name, Function<ThreadLocalRandom, HttpRequest> request) {
+    }
+
+    record ScenarioResult(String name, int requests, long errors, double throughputPerSecond,
+                          double p50Millis, double p99Millis, double p999Millis,
+                          long statements, double statementsPerRequest) {
+
+        ScenarioResult withStatements(long statements) {
+            return new ScenarioResult(name, requests, errors, throughputPerSecond, p50Millis, p99Millis, p999Millis,
+                    statements, (double) statements / requests);
+        }
+    }
+
+    record LoadReport(String startedAt, String database, int rows, int concurrency, int requestsPerScenario,
+                      boolean cache, List<ScenarioResult> scenarios) {
+    }
+}
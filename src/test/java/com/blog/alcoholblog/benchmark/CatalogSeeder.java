@@ -0,0 +1,80 @@
+package com.blog.alcoholblog.benchmark;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Fills {@code wines} with a deterministic, catalog-shaped data set through plain JDBC batches, which keeps
+ * seeding millions of rows practical. The same size always yields the same names, filters and scores.
+ */
+final class CatalogSeeder {
+
+    static final List<String> COLORS = List.of("Red", "White", "Rose");
+    static final List<String> COUNTRIES = List.of("Serbia", "France", "Italy", "Spain", "Portugal",
+            "Germany", "Austria", "Hungary", "Chile", "Argentina");
+    static final List<String> KINDS = List.of("Merlot", "Cabernet Sauvignon", "Pinot Noir", "Chardonnay",
+            "Riesling", "Tempranillo", "Syrah", "Sauvignon Blanc");
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String INSERT = "INSERT INTO wines (id, name, year, color, state, winery, kind, sugar, alcohol, "
+            + "country, region, score, description, picture, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private CatalogSeeder() {
+    }
+
+    /**
+     * Replaces the catalog with {@code rows} wines unless it already holds exactly that many. Refuses any database
+     * but the ones {@link BenchmarkDatabase} hands out, so a misconfigured context cannot wipe real data.
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        if (url == null || !BenchmarkDatabase.isDisposable(url)) {
+            throw new IllegalStateException("Refusing to seed " + url + ", set BENCH_DB_URL to a disposable database");
+        }
+
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wines", Long.class);
+        if (existing != null && existing == rows) {
+            return;
+        }
+        jdbcTemplate.execute("DELETE FROM wines");
+
+        Random random = new Random(rows);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(row(i, rows, random));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+    }
+
+    private static Object[] row(int i, int rows, Random random) {
+        String country = COUNTRIES.get(random.nextInt(COUNTRIES.size()));
+        String kind = KINDS.get(random.nextInt(KINDS.size()));
+        return new Object[]{
+                new UUID(random.nextLong(), random.nextLong()),
+                kind + " Reserve " + i,
+                1980 + random.nextInt(45),
+                COLORS.get(random.nextInt(COLORS.size())),
+                random.nextInt(4) == 0 ? "Sweet" : "Dry",
+                "Winery " + random.nextInt(Math.max(1, rows / 20)),
+                kind,
+                Math.round(random.nextDouble() * 400) / 10.0,
+                Math.round((9 + random.nextDouble() * 7) * 10) / 10.0,
+                country,
+                country + " region " + random.nextInt(12),
+                Math.round((60 + random.nextDouble() * 40) * 10) / 10.0,
+                "A " + kind.toLowerCase() + " from " + country + " with notes of dark fruit, spice and oak.",
+                "https://images.example.com/wines/" + i + ".jpg"
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.blog.alcoholblog.benchmark;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.index.CatalogIndexLoader;
+import com.blog.alcoholblog.index.ColumnarCatalog;
+import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.specification.WineSpecification;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Heap per wine of {@link ColumnarCatalog} against the same rows held as response objects, and the latency of
+ * numeric range searches answered by the columns (plus one primary key read for the page) against the
+ * {@code WineSpecification} page and count queries they replace.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=ColumnarCatalogBenchmark -Dbench.rows=1000000}. The catalog is reseeded,
+ * so it runs on H2 unless {@code BENCH_DB_URL} names a disposable PostgreSQL database, see {@link BenchmarkDatabase}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ColumnarCatalogBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 100_000);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 200);
+
+    private static final List<Search> SEARCHES = List.of(
+            new Search("score range", criteria(null, null, 85.0, null, null), Sort.by("score").descending()),
+            new Search("year + score", criteria(null, 2015, 80.0, null, null), Sort.by("score").descending()),
+            new Search("color + alcohol", criteria("red", null, null, 12.0, 14.0), Sort.by("alcohol").ascending()),
+            new Search("country + year", criteria("france", 2001, null, null, null), Sort.by("year").descending())
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogIndexLoader catalogIndexLoader;
+
+    @Autowired
+    private ColumnarCatalog columnarCatalog;
+
+    @Autowired
+    private WineRepository wineRepository;
+
+    @Autowired
+    private WineMapper wineMapper;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        BenchmarkDatabase.register(registry);
+        registry.add("app.columnar.enabled", () -> "true");
+    }
+
+    @Test
+    void memoryAndLatency() {
+        CatalogSeeder.seed(jdbcTemplate, ROWS);
+
+        catalogIndexLoader.reload();
+
+        long before = usedHeap();
+        List<WineResponseDTO> objects = wineRepository.findAll().stream().map(wineMapper::toWineResponseDTO).toList();
+        long objectBytes = usedHeap() - before;
+
+        ColumnarCatalog standalone = new ColumnarCatalog(true);
+        objects.forEach(standalone::put);
+        long columnarBytes = usedHeap() - before - objectBytes;
+
+        System.out.printf("database: %s, rows: %d%n", BenchmarkDatabase.describe(), objects.size());
+        System.out.printf("%-16s %10.1f bytes/row (estimated %.1f)%n", "columnar", (double) columnarBytes / standalone.size(),
+                (double) standalone.estimatedBytes() / standalone.size());
+        System.out.printf("%-16s %10.1f bytes/row%n", "response objects", (double) objectBytes / objects.size());
+
+        System.out.printf("%-16s %10s %12s %12s %12s%n", "search", "matches", "jpa p50", "columns p50", "+page p50");
+        for (Search search : SEARCHES) {
+            Pageable pageable = PageRequest.of(0, 12, search.sort());
+            Page<Wine> jpaPage = wineRepository.findAll(WineSpecification.wineSpecification(search.criteria()), pageable);
+            ColumnarCatalog.ColumnarPage columnarPage = columnarCatalog.search(search.criteria(), pageable).orElseThrow();
+            assertEquals(jpaPage.getTotalElements(), columnarPage.totalElements(), search.name());
+
+            Latencies jpa = measure(() -> wineRepository.findAll(WineSpecification.wineSpecification(search.criteria()), pageable));
+            Latencies columns = measure(() -> columnarCatalog.search(search.criteria(), pageable));
+            Latencies withPage = measure(() -> wineRepository.findAllById(columnarCatalog.search(search.criteria(), pageable).orElseThrow().ids()));
+
+            System.out.printf("%-16s %10d %10.3fms %10.3fms %10.3fms%n", search.name(), columnarPage.totalElements(),
+                    jpa.percentileMillis(50), columns.percentileMillis(50), withPage.percentileMillis(50));
+        }
+    }
+
+    private static Latencies measure(Supplier<?> search) {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            search.get();
+        }
+        Latencies latencies = new Latencies();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            latencies.record(System.nanoTime() - start);
+        }
+        return latencies;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static WineSearchCriteriaDTO criteria(String text, Integer year, Double minScore, Double minAlcohol, Double maxAlcohol) {
+        String color = "red".equals(text) ? text : null;
+        String country = color == null ? text : null;
+        return new WineSearchCriteriaDTO(null, color, null, null, country, null, year, minScore, null, minAlcohol, maxAlcohol);
+    }
+
+    private record Search(String name, WineSearchCriteriaDTO criteria, Sort sort) {
+    }
+}
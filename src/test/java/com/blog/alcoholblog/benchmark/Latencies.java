@@ -0,0 +1,39 @@
+package com.blog.alcoholblog.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Collects nanosecond samples and reports percentiles in milliseconds.
+ */
+final class Latencies {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void addAll(Latencies other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samples[i]);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.clamp(index, 0, count - 1)] / 1_000_000.0;
+    }
+}
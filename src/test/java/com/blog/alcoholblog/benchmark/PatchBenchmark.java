@@ -0,0 +1,113 @@
+package com.blog.alcoholblog.benchmark;
+
+import com.blog.alcoholblog.dto.CreateWineRequestDTO;
+import com.blog.alcoholblog.dto.UpdateWineRequestDTO;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.services.WineBatchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PATCHes/sec of the old load-merge-save cycle ({@code findById}, copy non-null fields, full-row UPDATE)
+ * against {@code WineRepository.updateFields}, the single {@code UPDATE ... RETURNING} of the changed columns
+ * that {@code WineService.updateWine} now issues. Both run in their own transaction without the service's
+ * cache and event overhead, so only the database work is compared. On the H2 stand-in the new path is an
+ * UPDATE plus a primary key read, as H2 has no {@code RETURNING}, and in-memory round trips are nearly free.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=PatchBenchmark -Dbench.rows=2000 -Dbench.patches=20000}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class PatchBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 2_000);
+    private static final int PATCHES = Integer.getInteger("bench.patches", 20_000);
+
+    @Autowired
+    private WineBatchService wineBatchService;
+
+    @Autowired
+    private WineRepository wineRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        BenchmarkDatabase.register(registry);
+    }
+
+    @Test
+    void singleStatementVersusLoadAndSaveThroughput() {
+        wineBatchService.createWines(IntStream.range(0, ROWS).mapToObj(PatchBenchmark::wine));
+        List<UUID> ids = wineRepository.findAll().stream().map(Wine::getId).toList();
+
+        // Warm up both paths
+        runLoadAndSave(ids, Math.min(PATCHES, 1_000));
+        runSingleStatement(ids, Math.min(PATCHES, 1_000));
+
+        long loadStart = System.nanoTime();
+        runLoadAndSave(ids, PATCHES);
+        double loadSeconds = (System.nanoTime() - loadStart) / 1e9;
+
+        long singleStart = System.nanoTime();
+        runSingleStatement(ids, PATCHES);
+        double singleSeconds = (System.nanoTime() - singleStart) / 1e9;
+
+        UUID lastPatched = ids.get((PATCHES - 1) % ids.size());
+        assertEquals("Patched Wine " + (PATCHES - 1), wineRepository.findById(lastPatched).orElseThrow().getName());
+
+        System.out.printf("database: %s, rows: %d, patches per run: %d%n", BenchmarkDatabase.describe(), ROWS, PATCHES);
+        System.out.printf("%-18s %10.2fs %12.0f patches/s%n", "load, merge, save", loadSeconds, PATCHES / loadSeconds);
+        System.out.printf("%-18s %10.2fs %12.0f patches/s%n", "single statement", singleSeconds, PATCHES / singleSeconds);
+
+        wineRepository.deleteAllInBatch();
+    }
+
+    private void runLoadAndSave(List<UUID> ids, int patches) {
+        for (int i = 0; i < patches; i++) {
+            UUID id = ids.get(i % ids.size());
+            UpdateWineRequestDTO patch = patch(i);
+            transactionTemplate.executeWithoutResult(status -> {
+                Wine wine = wineRepository.findById(id).orElseThrow();
+                wine.setScore(patch.score());
+                wine.setName(patch.name());
+                wineRepository.saveAndFlush(wine);
+            });
+        }
+    }
+
+    private void runSingleStatement(List<UUID> ids, int patches) {
+        for (int i = 0; i < patches; i++) {
+            UUID id = ids.get(i % ids.size());
+            UpdateWineRequestDTO patch = patch(i);
+            transactionTemplate.executeWithoutResult(status -> wineRepository.updateFields(id, patch.changes(), null));
+        }
+    }
+
+    private static UpdateWineRequestDTO patch(int i) {
+        return new UpdateWineRequestDTO("Patched Wine " + i, null, null, null, null, null, null, null,
+                null, null, 50.0 + i % 50, null, null);
+    }
+
+    private static CreateWineRequestDTO wine(int i) {
+        return new CreateWineRequestDTO(
+                "Benchmark Wine " + i, 1990 + i % 35, i % 2 == 0 ? "Red" : "White", "Dry",
+                "Winery " + i % 500, "Merlot", 1.5, 13.0, "Serbia", "Fruska Gora",
+                50.0 + i % 50, Stream.generate(() -> "Tasting note.").limit(20).reduce("", String::concat), "pic.jpg"
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package com.blog.alcoholblog.benchmark;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.index.WineSimilarityIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latency and recall@k of {@code WineSimilarityIndex.nearest} for growing catalog sizes. Recall is measured against
+ * a double-precision brute-force scan over the same wines, so anything below 1.0 comes from float rounding on ties.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=SimilarityIndexBenchmark -Dbench.sizes=10000,100000,1000000}.
+ */
+@Tag("benchmark")
+class SimilarityIndexBenchmark {
+
+    private static final int K = 10;
+    private static final int WARMUP = 200;
+    private static final int QUERIES = Integer.getInteger("bench.queries", 500);
+    private static final int RECALL_QUERIES = 50;
+
+    private static final List<String> COLORS = List.of("Red", "White", "Rose");
+    private static final List<String> COUNTRIES = List.of("Serbia", "France", "Italy", "Spain", "Portugal",
+            "Germany", "Austria", "Hungary", "Chile", "Argentina");
+    private static final List<String> KINDS = List.of("Merlot", "Cabernet Sauvignon", "Pinot Noir", "Chardonnay",
+            "Riesling", "Tempranillo", "Syrah", "Sauvignon Blanc");
+
+    @Test
+    void nearestLatencyAndRecallByCatalogSize() {
+        List<Integer> sizes = Arrays.stream(System.getProperty("bench.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+
+        System.out.printf("%-10s %10s %10s %10s %12s%n", "rows", "p50 ms", "p99 ms", "recall@" + K, "scan p50 ms");
+        for (int size : sizes) {
+            Random random = new Random(size);
+            WineResponseDTO[] wines = new WineResponseDTO[size];
+            WineSimilarityIndex index = new WineSimilarityIndex();
+            for (int i = 0; i < size; i++) {
+                wines[i] = wine(random);
+                index.put(wines[i]);
+            }
+
+            for (int i = 0; i < WARMUP; i++) {
+                index.nearest(UUID.fromString(wines[random.nextInt(size)].id()), K);
+            }
+            Latencies latencies = new Latencies();
+            for (int i = 0; i < QUERIES; i++) {
+                UUID id = UUID.fromString(wines[random.nextInt(size)].id());
+                long start = System.nanoTime();
+                index.nearest(id, K);
+                latencies.record(System.nanoTime() - start);
+            }
+
+            Latencies scan = new Latencies();
+            double hits = 0;
+            for (int i = 0; i < RECALL_QUERIES; i++) {
+                WineResponseDTO query = wines[random.nextInt(size)];
+                long start = System.nanoTime();
+                Set<UUID> expected = bruteForce(wines, query);
+                scan.record(System.nanoTime() - start);
+
+                Set<UUID> actual = new HashSet<>();
+                index.nearest(UUID.fromString(query.id()), K).forEach(neighbour -> actual.add(neighbour.id()));
+                actual.retainAll(expected);
+                hits += actual.size();
+            }
+            double recall = hits / (RECALL_QUERIES * K);
+
+            System.out.printf("%-10d %10.3f %10.3f %10.3f %12.3f%n", size, latencies.percentileMillis(50),
+                    latencies.percentileMillis(99), recall, scan.percentileMillis(50));
+            assertTrue(recall > 0.95, "recall@" + K + " was " + recall);
+        }
+    }
+
+    private static Set<UUID> bruteForce(WineResponseDTO[] wines, WineResponseDTO query) {
+        double[] best = new double[K];
+        int[] rows = new int[K];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        for (int row = 0; row < wines.length; row++) {
+            WineResponseDTO wine = wines[row];
+            if (wine == query) {
+                continue;
+            }
+            double distance = distance(query, wine);
+            if (distance < best[K - 1]) {
+                int at = K - 1;
+                while (at > 0 && best[at - 1] > distance) {
+                    best[at] = best[at - 1];
+                    rows[at] = rows[at - 1];
+                    at--;
+                }
+                best[at] = distance;
+                rows[at] = row;
+            }
+        }
+        Set<UUID> ids = new HashSet<>();
+        for (int row : rows) {
+            ids.add(UUID.fromString(wines[row].id()));
+        }
+        return ids;
+    }
+
+    private static double distance(WineResponseDTO a, WineResponseDTO b) {
+        double sugar = (a.sugar() - b.sugar()) / 10;
+        double alcohol = (a.alcohol() - b.alcohol()) / 1.5;
+        double score = (a.score() - b.score()) / 5;
+        double year = (a.year() - b.year()) / 5.0;
+        double categories = (a.color().equals(b.color()) ? 0 : 4) + (a.kind().equals(b.kind()) ? 0 : 2)
+                + (a.country().equals(b.country()) ? 0 : 2);
+        return sugar * sugar + alcohol * alcohol + score * score + year * year + categories;
+    }
+
+    private static WineResponseDTO wine(Random random) {
+        String country = COUNTRIES.get(random.nextInt(COUNTRIES.size()));
+        return new WineResponseDTO(new UUID(random.nextLong(), random.nextLong()).toString(), "Wine",
+                1980 + random.nextInt(45), COLORS.get(random.nextInt(COLORS.size())), "Dry", "Winery",
+                KINDS.get(random.nextInt(KINDS.size())), Math.round(random.nextDouble() * 400) / 10.0,
+                Math.round((9 + random.nextDouble() * 7) * 10) / 10.0, country, country + " region",
+                Math.round((60 + random.nextDouble() * 40) * 10) / 10.0, "desc", "p.jpg", 0L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.blog.alcoholblog.benchmark;
+
+import com.blog.alcoholblog.dto.SuggestField;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.index.WineSuggestions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lookup latency of {@code WineSuggestions} by prefix length, the cost of a write, and the heap it takes, for
+ * growing catalog sizes. Lookups are measured on their own and alternating with score updates, the worst case
+ * for the caches, which every write drops along its paths.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=SuggestionIndexBenchmark -Dbench.sizes=10000,100000,1000000}.
+ */
+@Tag("benchmark")
+class SuggestionIndexBenchmark {
+
+    private static final int K = 10;
+    private static final int QUERIES = Integer.getInteger("bench.queries", 20_000);
+
+    private static final List<String> COUNTRIES = List.of("Serbia", "France", "Italy", "Spain", "Portugal",
+            "Germany", "Austria", "Hungary", "Chile", "Argentina");
+    private static final List<String> KINDS = List.of("Merlot", "Cabernet Sauvignon", "Pinot Noir", "Chardonnay",
+            "Riesling", "Tempranillo", "Syrah", "Sauvignon Blanc");
+
+    @Test
+    void suggestLatencyAndMemoryByCatalogSize() {
+        List<Integer> sizes = Arrays.stream(System.getProperty("bench.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+
+        System.out.printf("%-10s %8s %10s %10s %10s %10s %10s %12s%n", "rows", "prefix", "p50 us", "p99 us",
+                "mixed p50", "mixed p99", "write p50", "bytes/wine");
+        for (int size : sizes) {
+            Random random = new Random(size);
+            WineResponseDTO[] wines = new WineResponseDTO[size];
+            for (int i = 0; i < size; i++) {
+                wines[i] = wine(i, size, random);
+            }
+
+            long before = usedHeap();
+            WineSuggestions suggestions = new WineSuggestions();
+            for (WineResponseDTO wine : wines) {
+                suggestions.put(wine);
+            }
+            long bytes = usedHeap() - before;
+
+            for (int length = 1; length <= 4; length++) {
+                run(suggestions, wines, random, length, QUERIES / 4, true);
+                Latencies reads = run(suggestions, wines, random, length, QUERIES, false)[0];
+                Latencies[] mixed = run(suggestions, wines, random, length, QUERIES, true);
+                System.out.printf("%-10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f %12.0f%n", size, length,
+                        reads.percentileMillis(50) * 1000, reads.percentileMillis(99) * 1000,
+                        mixed[0].percentileMillis(50) * 1000, mixed[0].percentileMillis(99) * 1000,
+                        mixed[1].percentileMillis(50) * 1000, (double) bytes / size);
+            }
+            assertTrue(suggestions.size(SuggestField.NAME) > 0);
+        }
+    }
+
+    /**
+     * Lookups of random prefixes of this length taken from catalog values, each followed by a score update if
+     * {@code write} is set.
+     */
+    private static Latencies[] run(WineSuggestions suggestions, WineResponseDTO[] wines, Random random, int length,
+                                   int queries, boolean write) {
+        Latencies lookups = new Latencies();
+        Latencies writes = new Latencies();
+        SuggestField[] fields = SuggestField.values();
+        for (int i = 0; i < queries; i++) {
+            WineResponseDTO source = wines[random.nextInt(wines.length)];
+            SuggestField field = fields[random.nextInt(fields.length)];
+            String value = field.valueOf(source);
+            String prefix = value.substring(0, Math.min(length, value.length()));
+
+            long start = System.nanoTime();
+            suggestions.suggest(field, prefix, K);
+            lookups.record(System.nanoTime() - start);
+            if (!write) {
+                continue;
+            }
+
+            int row = random.nextInt(wines.length);
+            WineResponseDTO wine = wines[row];
+            wines[row] = new WineResponseDTO(wine.id(), wine.name(), wine.year(), wine.color(), wine.state(), wine.winery(),
+                    wine.kind(), wine.sugar(), wine.alcohol(), wine.country(), wine.region(),
+                    Math.round((60 + random.nextDouble() * 40) * 10) / 10.0, wine.description(), wine.picture(), wine.version() + 1);
+            start = System.nanoTime();
+            suggestions.put(wines[row]);
+            writes.record(System.nanoTime() - start);
+        }
+        return new Latencies[]{lookups, writes};
+    }
+
+    private static WineResponseDTO wine(int i, int rows, Random random) {
+        String country = COUNTRIES.get(random.nextInt(COUNTRIES.size()));
+        String kind = KINDS.get(random.nextInt(KINDS.size()));
+        return new WineResponseDTO(new UUID(random.nextLong(), random.nextLong()).toString(),
+                kind + " Reserve " + i, 1980 + random.nextInt(45), "Red", "Dry",
+                "Winery " + random.nextInt(Math.max(1, rows / 20)), kind, 2.0, 13.0, country,
+                country + " region " + random.nextInt(12), Math.round((60 + random.nextDouble() * 40) * 10) / 10.0,
+                "desc", "p.jpg", 0L);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,134 @@
+package com.blog.alcoholblog.benchmark;
+
+import com.blog.alcoholblog.AlcoholBlogApplication;
+import com.blog.alcoholblog.dto.CreateWineRequestDTO;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.services.WineBatchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput and latency of the same request mix served on Tomcat's platform thread pool and on virtual threads
+ * (with {@code ConcurrencyLimitFilter} in front of the connection pool), under more concurrent clients than either
+ * the Tomcat pool or the connection pool has room for. Caching is off so that every request reaches the database.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=ThreadingModeBenchmark -Dbench.concurrency=1000 -Dbench.requests=50000}.
+ */
+@Tag("benchmark")
+class ThreadingModeBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.rows", 5_000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 500);
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 20_000);
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        System.out.printf("database: %s, rows: %d, concurrency: %d, requests per run: %d%n",
+                BenchmarkDatabase.describe(), ROWS, CONCURRENCY, REQUESTS);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s%n", "threads", "req/s", "p50 ms", "p99 ms", "p999 ms", "503s");
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            Map<String, Object> properties = new HashMap<>(BenchmarkDatabase.properties());
+            properties.put("server.port", 0);
+            properties.put("spring.cache.type", "none");
+            properties.put("spring.threads.virtual.enabled", virtual);
+
+            // Passed as arguments, default properties would lose to application.properties
+            String[] args = properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AlcoholBlogApplication.class).run(args)) {
+                WineRepository wineRepository = context.getBean(WineRepository.class);
+                context.getBean(WineBatchService.class).createWines(IntStream.range(0, ROWS).mapToObj(ThreadingModeBenchmark::wine));
+                List<UUID> ids = wineRepository.findAll().stream().map(Wine::getId).toList();
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                run(virtual ? "virtual" : "platform", port, ids, Math.min(REQUESTS, 2_000), false);
+                run(virtual ? "virtual" : "platform", port, ids, REQUESTS, true);
+
+                wineRepository.deleteAllInBatch();
+            }
+        }
+    }
+
+    private static void run(String mode, int port, List<UUID> ids, int requests, boolean report) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        List<Latencies> perClient = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int c = 0; c < CONCURRENCY; c++) {
+            Latencies latencies = new Latencies();
+            perClient.add(latencies);
+            // Platform threads, so the clients don't compete with the server for virtual thread carriers
+            clients.add(Thread.ofVirtual().start(() -> {
+                int n;
+                while ((n = remaining.decrementAndGet()) >= 0) {
+                    String path = n % 2 == 0
+                            ? "/wines?pageSize=12&sortBy=score&sortOrder=DESC&color=re&totals=none"
+                            : "/wines/" + ids.get(n % ids.size());
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception ex) {
+                        status = -1;
+                    }
+                    latencies.record(System.nanoTime() - sent);
+                    statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                }
+            }));
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Latencies all = new Latencies();
+        perClient.forEach(all::addAll);
+
+        long ok = statuses.getOrDefault(200, new LongAdder()).sum();
+        long rejected = statuses.getOrDefault(503, new LongAdder()).sum();
+        assertTrue(ok + rejected == requests, "Unexpected responses: " + statuses);
+
+        if (report) {
+            System.out.printf("%-10s %10.0f %10.1f %10.1f %10.1f %10d%n", mode, requests / seconds,
+                    all.percentileMillis(50), all.percentileMillis(99), all.percentileMillis(99.9), rejected);
+        }
+    }
+
+    private static CreateWineRequestDTO wine(int i) {
+        return new CreateWineRequestDTO(
+                "Benchmark Wine " + i, 1990 + i % 35, i % 3 == 0 ? "Red" : "White", "Dry",
+                "Winery " + i % 500, "Merlot", 1.5, 13.0, "Serbia", "Fruska Gora",
+                50.0 + i % 50, "Tasting note.", "pic.jpg"
+        );
+    }
+}
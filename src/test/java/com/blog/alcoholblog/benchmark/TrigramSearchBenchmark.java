@@ -0,0 +1,95 @@
+package com.blog.alcoholblog.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Latency of the {@code lower(column) LIKE '%value%'} search that WineSpecification generates,
+ * with and without a pg_trgm GIN index, for growing catalog sizes.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=TrigramSearchBenchmark -Dbench.sizes=10000,100000,1000000}.
+ */
+@Tag("benchmark")
+class TrigramSearchBenchmark {
+
+    private static final String TABLE = "wines_search_bench";
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+    private static final List<String> PATTERNS = List.of("%3fa9%", "%c0de%", "%winery 42%", "%tuscan%");
+
+    @Test
+    void searchLatencyByCatalogSize() throws SQLException {
+        assumeTrue(BenchmarkDatabase.isAvailable(), "BENCH_DB_URL does not name a reachable PostgreSQL database");
+
+        List<Integer> sizes = Arrays.stream(System.getProperty("bench.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+
+        try (Connection connection = BenchmarkDatabase.connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+
+            System.out.printf("%-10s %-14s %12s %12s %12s %12s%n", "rows", "pattern", "seq p50", "seq p95", "trgm p50", "trgm p95");
+            for (int size : sizes) {
+                seed(statement, size);
+                for (String pattern : PATTERNS) {
+                    Latencies sequential = measure(connection, pattern);
+                    statement.execute("CREATE INDEX " + TABLE + "_name_trgm ON " + TABLE + " USING gin (lower(name) gin_trgm_ops)");
+                    statement.execute("CREATE INDEX " + TABLE + "_winery_trgm ON " + TABLE + " USING gin (lower(winery) gin_trgm_ops)");
+                    statement.execute("ANALYZE " + TABLE);
+                    Latencies trigram = measure(connection, pattern);
+                    statement.execute("DROP INDEX " + TABLE + "_name_trgm, " + TABLE + "_winery_trgm");
+
+                    System.out.printf("%-10d %-14s %10.2fms %10.2fms %10.2fms %10.2fms%n", size, pattern,
+                            sequential.percentileMillis(50), sequential.percentileMillis(95),
+                            trigram.percentileMillis(50), trigram.percentileMillis(95));
+                }
+            }
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+    }
+
+    private static void seed(Statement statement, int size) throws SQLException {
+        statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        statement.execute("CREATE TABLE " + TABLE + " (id uuid PRIMARY KEY DEFAULT gen_random_uuid(), "
+                + "name varchar(255) NOT NULL, winery varchar(255) NOT NULL, region varchar(255) NOT NULL)");
+        statement.execute("INSERT INTO " + TABLE + " (name, winery, region) "
+                + "SELECT 'Wine ' || md5(i::text), 'Winery ' || (i % 5000), "
+                + "(ARRAY['Bordeaux', 'Tuscany', 'Rioja', 'Mosel', 'Napa', 'Fruska Gora', 'Douro', 'Barossa'])[1 + i % 8] "
+                + "FROM generate_series(1, " + size + ") AS i");
+        statement.execute("ANALYZE " + TABLE);
+    }
+
+    private static Latencies measure(Connection connection, String pattern) throws SQLException {
+        String sql = "SELECT id, name FROM " + TABLE
+                + " WHERE lower(name) LIKE ? OR lower(winery) LIKE ? ORDER BY name LIMIT 12";
+        Latencies latencies = new Latencies();
+
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            query.setString(1, pattern);
+            query.setString(2, pattern);
+            for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                long start = System.nanoTime();
+                try (ResultSet resultSet = query.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getString(2);
+                    }
+                }
+                if (i >= WARMUP) {
+                    latencies.record(System.nanoTime() - start);
+                }
+            }
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,71 @@
+package com.blog.alcoholblog.cache;
+
+import com.blog.alcoholblog.config.CacheConfig;
+import com.blog.alcoholblog.config.JacksonConfig;
+import com.blog.alcoholblog.dto.PageResponseDTO;
+import com.blog.alcoholblog.dto.TotalsMode;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.event.WineChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineJsonFragmentsTest {
+
+    private final WineJsonFragments fragments = new WineJsonFragments(new ConcurrentMapCacheManager(CacheConfig.WINE_FRAGMENTS));
+    private final ObjectMapper plainMapper = JsonMapper.builder().build();
+    private final ObjectMapper fragmentMapper = JsonMapper.builder()
+            .addModule(JacksonConfig.wineJsonFragmentsModule(fragments))
+            .build();
+
+    @Test
+    void testWrite_MatchesRegularSerialization() {
+        PageResponseDTO<WineResponseDTO> page = new PageResponseDTO<>(
+                List.of(wine(UUID.randomUUID(), "First \"Reserve\"", 0L), wine(UUID.randomUUID(), "Second", 2L)),
+                1, 1, 2L, 12, false, TotalsMode.EXACT);
+
+        String expected = plainMapper.writeValueAsString(page);
+
+        assertEquals(expected, fragmentMapper.writeValueAsString(page));
+        assertEquals(expected, fragmentMapper.writeValueAsString(page));
+    }
+
+    @Test
+    void testWrite_ReusesFragmentUntilVersionChangesOrWineIsEvicted() {
+        UUID id = UUID.randomUUID();
+        fragmentMapper.writeValueAsString(wine(id, "Original", 1L));
+
+        assertTrue(fragmentMapper.writeValueAsString(wine(id, "Renamed", 1L)).contains("Original"));
+        assertTrue(fragmentMapper.writeValueAsString(wine(id, "Renamed", 2L)).contains("Renamed"));
+
+        fragments.onWineChanged(WineChangedEvent.deleted(id));
+        assertTrue(fragmentMapper.writeValueAsString(wine(id, "Again", 2L)).contains("Again"));
+    }
+
+    @Test
+    void testWrite_SerializesDirectlyWhenNotCompactJson() {
+        UUID id = UUID.randomUUID();
+        fragmentMapper.writeValueAsString(wine(id, "Original", 1L));
+        WineResponseDTO renamed = wine(id, "Renamed", 1L);
+
+        String pretty = fragmentMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValueAsString(renamed);
+        byte[] cbor = CBORMapper.builder().addModule(JacksonConfig.wineJsonFragmentsModule(fragments)).build()
+                .writeValueAsBytes(renamed);
+
+        assertTrue(pretty.contains("Renamed"));
+        assertEquals("Renamed", CBORMapper.builder().build().readValue(cbor, WineResponseDTO.class).name());
+    }
+
+    private static WineResponseDTO wine(UUID id, String name, Long version) {
+        return new WineResponseDTO(id.toString(), name, 2020, "Red", "Dry", "Winery", "Merlot",
+                1.0, 13.5, "Serbia", "Srem", 91.5, "Notes of épices.", "pic.jpg", version);
+    }
+}
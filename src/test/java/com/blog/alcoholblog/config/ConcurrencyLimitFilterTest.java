@@ -0,0 +1,51 @@
+package com.blog.alcoholblog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final HikariDataSource dataSource = new HikariDataSource();
+
+    @AfterEach
+    void close() {
+        dataSource.close();
+    }
+
+    @Test
+    void testDoFilter_AsyncRequestHoldsPermitUntilComplete() throws Exception {
+        dataSource.setMaximumPoolSize(1);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(dataSource, Duration.ZERO);
+
+        MockHttpServletRequest export = request();
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(503, filter(filter).getStatus());
+
+        export.getAsyncContext().complete();
+        assertEquals(200, filter(filter).getStatus());
+        assertEquals(200, filter(filter).getStatus());
+    }
+
+    private static MockHttpServletResponse filter(ConcurrencyLimitFilter filter) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> { };
+        filter.doFilter(request(), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/wines/export");
+        request.setServletPath("/wines/export");
+        return request;
+    }
+}
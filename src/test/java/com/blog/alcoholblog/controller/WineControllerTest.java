@@ -0,0 +1,26 @@
+package com.blog.alcoholblog.controller;
+
+import com.blog.alcoholblog.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineControllerTest {
+
+    @Test
+    void testParseIfMatch_AcceptsStrongAndWeakTagsInEveryFormat() {
+        assertEquals(7L, WineController.parseIfMatch("\"7\""));
+        assertEquals(7L, WineController.parseIfMatch("W/\"7\""));
+        assertEquals(7L, WineController.parseIfMatch(" W/\"7-cbor\" "));
+        assertNull(WineController.parseIfMatch("*"));
+        assertNull(WineController.parseIfMatch(null));
+    }
+
+    @Test
+    void testParseIfMatch_RejectsMalformedTags() {
+        assertThrows(PreconditionFailedException.class, () -> WineController.parseIfMatch("7"));
+        assertThrows(PreconditionFailedException.class, () -> WineController.parseIfMatch("W/7"));
+        assertThrows(PreconditionFailedException.class, () -> WineController.parseIfMatch("\"abc\""));
+        assertThrows(PreconditionFailedException.class, () -> WineController.parseIfMatch("\"1\", \"2\""));
+    }
+}
@@ -0,0 +1,42 @@
+package com.blog.alcoholblog.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpdateWineRequestDTOTest {
+
+    private static final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private static final Validator validator = validatorFactory.getValidator();
+
+    @AfterAll
+    static void close() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void testValidate_RejectsBlankPresentFields() {
+        Set<ConstraintViolation<UpdateWineRequestDTO>> violations = validator.validate(new UpdateWineRequestDTO(
+                "", null, null, null, "   ", null, null, null, null, null, null, "\n", null));
+
+        assertEquals(Set.of("name", "winery", "description"), violations.stream()
+                .map(violation -> violation.getPropertyPath().toString())
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testValidate_AcceptsAbsentAndNonBlankFields() {
+        assertTrue(validator.validate(new UpdateWineRequestDTO(
+                "New\nName", null, null, null, null, null, null, null, null, null, 90.0, null, null)).isEmpty());
+        assertTrue(validator.validate(new UpdateWineRequestDTO(
+                null, null, null, null, null, null, null, null, null, null, null, null, null)).isEmpty());
+    }
+}
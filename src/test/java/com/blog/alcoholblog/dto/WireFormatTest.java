@@ -0,0 +1,28 @@
+package com.blog.alcoholblog.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatTest {
+
+    @Test
+    void testNegotiate_PicksFirstAcceptedFormat() {
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate(MediaType.parseMediaTypes("application/cbor, application/json")));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(MediaType.parseMediaTypes("application/json, application/cbor")));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(List.of(MediaType.ALL)));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate(MediaType.parseMediaTypes("text/html, application/x-jackson-smile")));
+    }
+
+    @Test
+    void testEtag_RoundTripsThroughBaseTag() {
+        assertEquals("7", WireFormat.JSON.etag("7"));
+        assertEquals("7-cbor", WireFormat.CBOR.etag("7"));
+        assertEquals("7", WireFormat.baseTag("7-cbor"));
+        assertEquals("7", WireFormat.baseTag("7-smile"));
+        assertEquals("7", WireFormat.baseTag("7"));
+    }
+}
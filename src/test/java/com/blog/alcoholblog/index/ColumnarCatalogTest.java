@@ -0,0 +1,146 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCatalogTest {
+
+    private static final List<String> COUNTRIES = List.of("Serbia", "France", "Italy", "Chile");
+    private static final List<String> COLORS = List.of("Red", "White", "Rose");
+
+    private final ColumnarCatalog catalog = new ColumnarCatalog(true);
+    private final Map<UUID, WineResponseDTO> expected = new LinkedHashMap<>();
+    private final Random random = new Random(42);
+
+    @Test
+    void search_MatchesFilteringAndSortingOfAllWines() {
+        for (int i = 0; i < 3_000; i++) {
+            put(randomWine());
+        }
+        // Updates move wines between bitmaps and deletes free rows that later inserts reuse
+        List<UUID> ids = new ArrayList<>(expected.keySet());
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (i % 2 == 0 && expected.containsKey(id)) {
+                catalog.remove(id);
+                expected.remove(id);
+            } else {
+                put(randomWine(id));
+            }
+        }
+        assertEquals(expected.size(), catalog.size());
+
+        assertSearch(criteria(null, null, null, null, null), Sort.by("score").descending(), 0, 12);
+        assertSearch(criteria("red", "serb", null, 80.0, null), Sort.by("score").descending(), 2, 12);
+        assertSearch(criteria(null, null, 2010, null, 90.0), Sort.by("alcohol").ascending(), 0, 24);
+        assertSearch(criteria("whi", null, null, 70.0, 85.0), Sort.by("year").descending(), 5, 10);
+        assertSearch(criteria("rose", "chile", null, null, null), Sort.unsorted(), 0, 100);
+        assertSearch(criteria("nothing", null, null, null, null), Sort.by("score"), 0, 12);
+    }
+
+    @Test
+    void search_WithNameFilterOrTextSort_IsLeftToTheDatabase() {
+        put(randomWine());
+
+        WineSearchCriteriaDTO byName = new WineSearchCriteriaDTO("merlot", null, null, null, null, null, null, null, null, null, null);
+        assertTrue(catalog.search(byName, PageRequest.of(0, 12)).isEmpty());
+        assertTrue(catalog.search(criteria(null, null, null, null, null), PageRequest.of(0, 12, Sort.by("name"))).isEmpty());
+        assertTrue(new ColumnarCatalog(false).search(criteria(null, null, null, null, null), PageRequest.of(0, 12)).isEmpty());
+    }
+
+    @Test
+    void search_WithoutCriteria_MatchesEveryWine() {
+        put(randomWine());
+        put(randomWine());
+
+        assertEquals(2, catalog.search(null, PageRequest.of(0, 12)).orElseThrow().totalElements());
+    }
+
+    @Test
+    void search_ByYear_SortsWinesWithoutYearAsPostgresSortsNull() {
+        WineResponseDTO undated = new WineResponseDTO(UUID.randomUUID().toString(), "Wine", null, "Red", "Dry", "Winery",
+                "Merlot", 1.0, 13.0, "Serbia", "Region", 80.0, "desc", "p.jpg", 0L);
+        WineResponseDTO dated = randomWine();
+        put(undated);
+        put(dated);
+
+        assertEquals(List.of(UUID.fromString(dated.id()), UUID.fromString(undated.id())),
+                catalog.search(criteria(null, null, null, null, null), PageRequest.of(0, 12, Sort.by("year"))).orElseThrow().ids());
+        assertEquals(List.of(UUID.fromString(undated.id()), UUID.fromString(dated.id())),
+                catalog.search(criteria(null, null, null, null, null), PageRequest.of(0, 12, Sort.by("year").descending())).orElseThrow().ids());
+        assertEquals(0, catalog.search(criteria(null, null, 2100, null, null), PageRequest.of(0, 12)).orElseThrow().totalElements());
+    }
+
+    private void assertSearch(WineSearchCriteriaDTO criteria, Sort sort, int page, int size) {
+        Predicate<WineResponseDTO> matches = wine -> (criteria.color() == null || wine.color().toLowerCase().contains(criteria.color()))
+                && (criteria.country() == null || wine.country().toLowerCase().contains(criteria.country()))
+                && (criteria.year() == null || wine.year().equals(criteria.year()))
+                && (criteria.minScore() == null || wine.score() >= criteria.minScore())
+                && (criteria.maxScore() == null || wine.score() <= criteria.maxScore());
+        List<WineResponseDTO> all = expected.values().stream().filter(matches).toList();
+
+        ColumnarCatalog.ColumnarPage result = catalog.search(criteria, PageRequest.of(page, size, sort)).orElseThrow();
+
+        assertEquals(all.size(), result.totalElements());
+        List<UUID> ids = result.ids();
+        assertEquals(Math.max(0, Math.min(size, all.size() - page * size)), ids.size());
+        if (sort.isUnsorted()) {
+            ids.forEach(id -> assertTrue(matches.test(expected.get(id))));
+            return;
+        }
+
+        Sort.Order order = sort.iterator().next();
+        Comparator<WineResponseDTO> byKey = Comparator.comparingDouble(wine -> switch (order.getProperty()) {
+            case "year" -> wine.year();
+            case "alcohol" -> wine.alcohol();
+            default -> wine.score();
+        });
+        List<Double> expectedKeys = all.stream()
+                .sorted(order.isAscending() ? byKey : byKey.reversed())
+                .skip((long) page * size).limit(size)
+                .map(wine -> key(wine, order.getProperty()))
+                .toList();
+        assertEquals(expectedKeys, ids.stream().map(id -> key(expected.get(id), order.getProperty())).toList());
+    }
+
+    private static double key(WineResponseDTO wine, String property) {
+        return switch (property) {
+            case "year" -> wine.year();
+            case "alcohol" -> wine.alcohol();
+            default -> wine.score();
+        };
+    }
+
+    private void put(WineResponseDTO wine) {
+        catalog.put(wine);
+        expected.put(UUID.fromString(wine.id()), wine);
+    }
+
+    private WineResponseDTO randomWine() {
+        return randomWine(UUID.randomUUID());
+    }
+
+    private WineResponseDTO randomWine(UUID id) {
+        return new WineResponseDTO(id.toString(), "Wine", 2000 + random.nextInt(25), COLORS.get(random.nextInt(COLORS.size())),
+                "Dry", "Winery " + random.nextInt(50), "Merlot", random.nextInt(100) / 10.0, 11 + random.nextInt(40) / 10.0,
+                COUNTRIES.get(random.nextInt(COUNTRIES.size())), "Region", 60 + random.nextInt(400) / 10.0, "desc", "p.jpg", 0L);
+    }
+
+    private static WineSearchCriteriaDTO criteria(String color, String country, Integer year, Double minScore, Double maxScore) {
+        return new WineSearchCriteriaDTO(null, color, null, null, country, null, year, minScore, maxScore, null, null);
+    }
+}
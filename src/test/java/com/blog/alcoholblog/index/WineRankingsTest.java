@@ -0,0 +1,88 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.RankingDimension;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineRankingsTest {
+
+    private final WineRankings rankings = new WineRankings();
+
+    @Test
+    void top_OrdersByScoreWithinEachGroup() {
+        WineResponseDTO serbian = wine("Serbia", "Red", 2018, 91.0);
+        WineResponseDTO french = wine("France", "Red", 2018, 95.0);
+        WineResponseDTO serbianWhite = wine("Serbia", "White", 2020, 88.0);
+        List.of(serbian, french, serbianWhite).forEach(rankings::put);
+
+        assertEquals(ids(french, serbian, serbianWhite), rankings.top(10));
+        assertEquals(ids(french), rankings.top(1));
+        assertEquals(ids(serbian, serbianWhite), rankings.top(RankingDimension.COUNTRY, "serbia", 10));
+        assertEquals(ids(french, serbian), rankings.top(RankingDimension.YEAR, "2018", 10));
+        assertEquals(List.of(), rankings.top(RankingDimension.COUNTRY, "Chile", 10));
+
+        Map<String, List<UUID>> perColor = rankings.topPerGroup(RankingDimension.COLOR, null, 1, 10).groups();
+        assertEquals(List.of("Red", "White"), List.copyOf(perColor.keySet()));
+        assertEquals(ids(french), perColor.get("Red"));
+        assertEquals(ids(serbianWhite), perColor.get("White"));
+    }
+
+    @Test
+    void topPerGroup_PagesOverGroups() {
+        WineResponseDTO y2018 = wine("Serbia", "Red", 2018, 91.0);
+        WineResponseDTO y2019 = wine("Serbia", "Red", 2019, 90.0);
+        WineResponseDTO y2020 = wine("Serbia", "Red", 2020, 89.0);
+        List.of(y2018, y2019, y2020).forEach(rankings::put);
+
+        WineRankings.GroupPage first = rankings.topPerGroup(RankingDimension.YEAR, null, 10, 2);
+        assertEquals(List.of("2018", "2019"), List.copyOf(first.groups().keySet()));
+        assertEquals("2019", first.next());
+
+        WineRankings.GroupPage second = rankings.topPerGroup(RankingDimension.YEAR, first.next(), 10, 2);
+        assertEquals(Map.of("2020", ids(y2020)), second.groups());
+        assertNull(second.next());
+    }
+
+    @Test
+    void put_WithChangedWine_MovesItBetweenGroups() {
+        WineResponseDTO wine = wine("Serbia", "Red", 2018, 80.0);
+        WineResponseDTO other = wine("Serbia", "Red", 2018, 85.0);
+        rankings.put(wine);
+        rankings.put(other);
+
+        WineResponseDTO updated = new WineResponseDTO(wine.id(), wine.name(), 2018, "Red", "Dry", "Winery", "Merlot",
+                1.0, 13.0, "Italy", "Region", 99.0, "desc", "p.jpg", 2L);
+        rankings.put(updated);
+
+        assertEquals(ids(other), rankings.top(RankingDimension.COUNTRY, "Serbia", 10));
+        assertEquals(ids(updated), rankings.top(RankingDimension.COUNTRY, "Italy", 10));
+        assertEquals(ids(updated, other), rankings.top(10));
+    }
+
+    @Test
+    void remove_DropsWineAndEmptyGroups() {
+        WineResponseDTO wine = wine("Chile", "Red", 2018, 90.0);
+        rankings.put(wine);
+
+        rankings.remove(UUID.fromString(wine.id()));
+
+        assertEquals(List.of(), rankings.top(10));
+        assertFalse(rankings.topPerGroup(RankingDimension.COUNTRY, null, 10, 10).groups().containsKey("Chile"));
+    }
+
+    private static List<UUID> ids(WineResponseDTO... wines) {
+        return Arrays.stream(wines).map(wine -> UUID.fromString(wine.id())).toList();
+    }
+
+    private static WineResponseDTO wine(String country, String color, int year, double score) {
+        return new WineResponseDTO(UUID.randomUUID().toString(), "Wine", year, color, "Dry", "Winery", "Merlot",
+                1.0, 13.0, country, "Region", score, "desc", "p.jpg", 1L);
+    }
+}
@@ -0,0 +1,98 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineSimilarityIndexTest {
+
+    private final WineSimilarityIndex index = new WineSimilarityIndex();
+
+    @Test
+    void nearest_PrefersCloseNumbersAndSameCategories() {
+        WineResponseDTO query = wine("Red", "Merlot", "Serbia", 2.0, 13.5, 90.0, 2018);
+        WineResponseDTO twin = wine("Red", "Merlot", "Serbia", 2.5, 13.5, 89.0, 2018);
+        WineResponseDTO otherCountry = wine("Red", "Merlot", "France", 2.0, 13.5, 90.0, 2018);
+        WineResponseDTO white = wine("White", "Riesling", "Germany", 30.0, 9.0, 85.0, 2022);
+        List.of(query, twin, otherCountry, white).forEach(index::put);
+
+        assertEquals(ids(twin, otherCountry, white), neighbourIds(query, 10));
+        assertEquals(ids(twin), neighbourIds(query, 1));
+    }
+
+    @Test
+    void nearest_FollowsUpdatesAndRemovals() {
+        WineResponseDTO query = wine("Red", "Merlot", "Serbia", 2.0, 13.5, 90.0, 2018);
+        WineResponseDTO near = wine("Red", "Merlot", "Serbia", 2.0, 13.5, 91.0, 2018);
+        WineResponseDTO far = wine("White", "Riesling", "Germany", 30.0, 9.0, 70.0, 1990);
+        List.of(query, near, far).forEach(index::put);
+
+        index.put(new WineResponseDTO(far.id(), "Wine", 2018, "Red", "Dry", "Winery", "Merlot", 2.0, 13.5,
+                "Serbia", "Region", 90.0, "desc", "p.jpg", 1L));
+        assertEquals(UUID.fromString(far.id()), index.nearest(UUID.fromString(query.id()), 1).getFirst().id());
+
+        index.remove(UUID.fromString(far.id()));
+        index.remove(UUID.fromString(near.id()));
+        assertEquals(List.of(), index.nearest(UUID.fromString(query.id()), 5));
+        assertNull(index.nearest(UUID.randomUUID(), 5));
+    }
+
+    @Test
+    void nearest_MatchesBruteForceOverManyWines() {
+        Random random = new Random(7);
+        List<String> colors = List.of("Red", "White", "Rose");
+        List<String> countries = List.of("Serbia", "France", "Italy", "Spain");
+        List<WineResponseDTO> wines = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            WineResponseDTO wine = wine(colors.get(random.nextInt(3)), "Kind " + random.nextInt(8), countries.get(random.nextInt(4)),
+                    random.nextInt(400) / 10.0, 9 + random.nextInt(70) / 10.0, 60 + random.nextInt(400) / 10.0, 1980 + random.nextInt(45));
+            wines.add(wine);
+            index.put(wine);
+        }
+
+        WineResponseDTO query = wines.get(123);
+        List<Double> expected = wines.stream()
+                .filter(wine -> wine != query)
+                .map(wine -> distance(query, wine))
+                .sorted(Comparator.naturalOrder())
+                .limit(10)
+                .toList();
+        List<Double> actual = index.nearest(UUID.fromString(query.id()), 10).stream()
+                .map(WineSimilarityIndex.Neighbour::distance)
+                .toList();
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), 1e-3);
+        }
+    }
+
+    private static double distance(WineResponseDTO a, WineResponseDTO b) {
+        double sugar = (a.sugar() - b.sugar()) / 10;
+        double alcohol = (a.alcohol() - b.alcohol()) / 1.5;
+        double score = (a.score() - b.score()) / 5;
+        double year = (a.year() - b.year()) / 5.0;
+        double categories = (a.color().equals(b.color()) ? 0 : 4) + (a.kind().equals(b.kind()) ? 0 : 2)
+                + (a.country().equals(b.country()) ? 0 : 2);
+        return Math.sqrt(sugar * sugar + alcohol * alcohol + score * score + year * year + categories);
+    }
+
+    private List<UUID> neighbourIds(WineResponseDTO wine, int limit) {
+        return index.nearest(UUID.fromString(wine.id()), limit).stream().map(WineSimilarityIndex.Neighbour::id).toList();
+    }
+
+    private static List<UUID> ids(WineResponseDTO... wines) {
+        return List.of(wines).stream().map(wine -> UUID.fromString(wine.id())).toList();
+    }
+
+    private static WineResponseDTO wine(String color, String kind, String country, double sugar, double alcohol, double score, int year) {
+        return new WineResponseDTO(UUID.randomUUID().toString(), "Wine", year, color, "Dry", "Winery", kind, sugar, alcohol,
+                country, "Region", score, "desc", "p.jpg", 0L);
+    }
+}
@@ -0,0 +1,117 @@
+package com.blog.alcoholblog.index;
+
+import com.blog.alcoholblog.dto.SuggestField;
+import com.blog.alcoholblog.dto.SuggestionDTO;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineSuggestionsTest {
+
+    private final WineSuggestions suggestions = new WineSuggestions();
+
+    @Test
+    void suggest_CompletesPrefixIgnoringCaseBestScoreFirst() {
+        suggestions.put(wine("Merlot Reserve", "Kovacevic", "Srem", 88.0));
+        suggestions.put(wine("Merlot", "Kovacevic", "Srem", 91.0));
+        suggestions.put(wine("Mermaid", "Zvonko Bogdan", "Palic", null));
+        suggestions.put(wine("Malbec", "Zvonko Bogdan", "Palic", 95.0));
+
+        assertEquals(List.of("Merlot", "Merlot Reserve", "Mermaid"), values(SuggestField.NAME, "mEr", 10));
+        assertEquals(List.of("Merlot"), values(SuggestField.NAME, "MERL", 1));
+        assertEquals(List.of(), values(SuggestField.NAME, "Merx", 10));
+        assertEquals(List.of(new SuggestionDTO("Kovacevic", 91.0, 2)), suggestions.suggest(SuggestField.WINERY, "k", 10));
+        assertEquals(List.of(new SuggestionDTO("Mermaid", null, 1)), suggestions.suggest(SuggestField.NAME, "merm", 10));
+    }
+
+    @Test
+    void suggest_FollowsUpdatesAndRemovals() {
+        WineResponseDTO merlot = wine("Merlot", "Kovacevic", "Srem", 91.0);
+        WineResponseDTO reserve = wine("Merlot Reserve", "Kovacevic", "Srem", 88.0);
+        suggestions.put(merlot);
+        suggestions.put(reserve);
+
+        suggestions.put(new WineResponseDTO(merlot.id(), "Riesling", 2020, "White", "Dry", "Kovacevic", "Riesling",
+                1.0, 12.0, "Serbia", "Srem", 80.0, "desc", "p.jpg", 1L));
+        assertEquals(List.of("Merlot Reserve"), values(SuggestField.NAME, "mer", 10));
+        assertEquals(List.of(new SuggestionDTO("Kovacevic", 88.0, 2)), suggestions.suggest(SuggestField.WINERY, "kov", 10));
+
+        suggestions.remove(UUID.fromString(reserve.id()));
+        assertEquals(List.of(), values(SuggestField.NAME, "mer", 10));
+        assertEquals(List.of(new SuggestionDTO("Kovacevic", 80.0, 1)), suggestions.suggest(SuggestField.WINERY, "kov", 10));
+        assertEquals(1, suggestions.size(SuggestField.NAME));
+    }
+
+    @Test
+    void suggest_MatchesBruteForceThroughWrites() {
+        Random random = new Random(11);
+        Map<UUID, WineResponseDTO> wines = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (!ids.isEmpty() && random.nextInt(4) == 0) {
+                UUID id = ids.get(random.nextInt(ids.size()));
+                if (random.nextBoolean()) {
+                    suggestions.remove(id);
+                    wines.remove(id);
+                    ids.remove(id);
+                    continue;
+                }
+                WineResponseDTO wine = wine(id, random);
+                suggestions.put(wine);
+                wines.put(id, wine);
+                continue;
+            }
+            WineResponseDTO wine = wine(UUID.randomUUID(), random);
+            suggestions.put(wine);
+            wines.put(UUID.fromString(wine.id()), wine);
+            ids.add(UUID.fromString(wine.id()));
+        }
+
+        for (String prefix : List.of("a", "b", "ab", "abc", "ca", "d", "ba")) {
+            Map<String, double[]> expected = new HashMap<>();
+            for (WineResponseDTO wine : wines.values()) {
+                if (wine.name().toLowerCase().startsWith(prefix)) {
+                    double[] term = expected.computeIfAbsent(wine.name().toLowerCase(), n -> new double[]{Double.NEGATIVE_INFINITY, 0});
+                    term[0] = Math.max(term[0], wine.score().floatValue());
+                    term[1]++;
+                }
+            }
+            List<String> best = expected.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<String, double[]>>comparingDouble(e -> -e.getValue()[0])
+                            .thenComparingDouble(e -> -e.getValue()[1])
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(WineSuggestions.MAX_LIMIT)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            assertEquals(best, values(SuggestField.NAME, prefix, WineSuggestions.MAX_LIMIT), "prefix " + prefix);
+        }
+    }
+
+    private List<String> values(SuggestField field, String prefix, int limit) {
+        return suggestions.suggest(field, prefix, limit).stream().map(SuggestionDTO::value).toList();
+    }
+
+    private static WineResponseDTO wine(UUID id, Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0, length = 1 + random.nextInt(5); i < length; i++) {
+            name.append((char) ('a' + random.nextInt(4)));
+        }
+        return new WineResponseDTO(id.toString(), name.toString(), 2020, "Red", "Dry", "Winery", "Merlot", 1.0, 13.0,
+                "Serbia", "Srem", (double) (60 + random.nextInt(40)), "desc", "p.jpg", 0L);
+    }
+
+    private static WineResponseDTO wine(String name, String winery, String region, Double score) {
+        return new WineResponseDTO(UUID.randomUUID().toString(), name, 2020, "Red", "Dry", winery, "Merlot", 1.0, 13.0,
+                "Serbia", region, score, "desc", "p.jpg", 0L);
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.alcoholblog.metrics;
+
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryLogTest {
+
+    @Test
+    void testFingerprint_IgnoresValuesAndBlankFilters() {
+        WineSearchCriteriaDTO red = new WineSearchCriteriaDTO(null, "Red", " ", null, null, null, null, 80.0, null, null, null);
+        WineSearchCriteriaDTO white = new WineSearchCriteriaDTO(null, "white", null, null, null, null, null, 60.0, null, null, null);
+        Sort sort = Sort.by("score").descending();
+
+        assertEquals("page: color LIKE + minScore | sort=score DESC", QueryFingerprint.of("page", red, sort));
+        assertEquals(QueryFingerprint.of("page", red, sort), QueryFingerprint.of("page", white, sort));
+        assertEquals("facets: no filters | sort=none", QueryFingerprint.of("facets", null, Sort.unsorted()));
+    }
+
+    @Test
+    void testTime_GroupsExecutionsByFingerprint() {
+        QueryLog queryLog = new QueryLog(10, Duration.ofMinutes(1));
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(null, "Red", null, null, null, null, null, null, null, null, null);
+
+        assertEquals("result", queryLog.time("page", criteria, Sort.unsorted(), "page 1", () -> "result"));
+        queryLog.time("page", criteria, Sort.unsorted(), "page 2", () -> "result");
+        queryLog.time("cursor", criteria, Sort.unsorted(), "page 1", () -> "result");
+
+        List<QueryLog.FingerprintSummary> fingerprints = queryLog.fingerprints();
+        assertEquals(2, fingerprints.size());
+        assertEquals(2, fingerprints.stream()
+                .filter(summary -> summary.fingerprint().startsWith("page:"))
+                .findFirst().orElseThrow().count());
+        assertTrue(queryLog.slowest().isEmpty());
+    }
+
+    @Test
+    void testSlowest_KeepsOnlyTheMostRecentExecutions() {
+        QueryLog queryLog = new QueryLog(2, Duration.ZERO);
+
+        for (int i = 1; i <= 3; i++) {
+            queryLog.time("page", null, Sort.unsorted(), "page " + i, () -> null);
+        }
+
+        assertEquals(List.of("page 2", "page 3"), queryLog.slowest().stream().map(QueryLog.SlowQuery::page).sorted().toList());
+        assertTrue(queryLog.slowQuery(1).isEmpty());
+        assertEquals("page 3", queryLog.slowQuery(3).orElseThrow().page());
+    }
+}
@@ -0,0 +1,62 @@
+package com.blog.alcoholblog.pagination;
+
+import com.blog.alcoholblog.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTripsSortAndKeys() {
+        UUID lastId = UUID.randomUUID();
+        Sort sort = Sort.by("score").descending();
+
+        WineCursor cursor = WineCursor.first(sort)
+                .next(ScrollPosition.forward(Map.of("score", 4.5, "id", lastId)));
+
+        WineCursor decoded = WineCursor.decode(cursor.encode());
+
+        assertEquals(sort, decoded.sort());
+        assertEquals(4.5, decoded.position().getKeys().get("score"));
+        assertEquals(lastId, decoded.position().getKeys().get("id"));
+    }
+
+    @Test
+    void testDecode_KeepsSeparatorInsideStringValue() {
+        UUID lastId = UUID.randomUUID();
+        WineCursor cursor = WineCursor.first(Sort.by("name").ascending())
+                .next(ScrollPosition.forward(Map.of("name", "Red|White", "id", lastId)));
+
+        WineCursor decoded = WineCursor.decode(cursor.encode());
+
+        assertEquals("Red|White", decoded.position().getKeys().get("name"));
+    }
+
+    @Test
+    void testDecode_ConvertsYearToInteger() {
+        WineCursor cursor = WineCursor.first(Sort.by("year").ascending())
+                .next(ScrollPosition.forward(Map.of("year", 2019, "id", UUID.randomUUID())));
+
+        assertEquals(2019, WineCursor.decode(cursor.encode()).position().getKeys().get("year"));
+    }
+
+    @Test
+    void testDecode_Garbage_Throws() {
+        assertThrows(InvalidCursorException.class, () -> WineCursor.decode("not a cursor!"));
+        assertThrows(InvalidCursorException.class, () -> WineCursor.decode("Zm9vfGJhcg"));
+    }
+
+    @Test
+    void testDecode_UnknownField_Throws() {
+        WineCursor cursor = WineCursor.first(Sort.by("vintage").ascending())
+                .next(ScrollPosition.forward(Map.of("vintage", 1, "id", UUID.randomUUID())));
+
+        assertThrows(InvalidCursorException.class, () -> WineCursor.decode(cursor.encode()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.blog.alcoholblog.projection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineFieldsTest {
+
+    @Test
+    void testParse_Summary_ExcludesDescription() {
+        List<String> fields = WineFields.parse("summary");
+
+        assertTrue(fields.contains("name"));
+        assertTrue(fields.contains("picture"));
+        assertFalse(fields.contains("description"));
+    }
+
+    @Test
+    void testParse_ExplicitList_KeepsOrderAndDropsDuplicates() {
+        assertEquals(List.of("id", "name", "score"), WineFields.parse(" id,name , score,name"));
+    }
+
+    @Test
+    void testParse_UnknownField_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> WineFields.parse("name,price"));
+        assertThrows(IllegalArgumentException.class, () -> WineFields.parse(","));
+    }
+
+    @Test
+    void testColumns_MapsEveryResponseFieldToItsColumn() {
+        assertTrue(WineFields.COLUMNS.keySet().containsAll(WineFields.ALL));
+        assertEquals("year", WineFields.COLUMNS.get("year"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.blog.alcoholblog.repository;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveWineRepositoryTest {
+
+    private static final String URL = "r2dbc:h2:mem:///reactive_wines?options=DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE";
+
+    private final DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(
+            ConnectionFactoryOptions.parse(URL).mutate()
+                    .option(ConnectionFactoryOptions.USER, "sa")
+                    .option(ConnectionFactoryOptions.PASSWORD, "")
+                    .build()));
+    private ReactiveWineRepository reactiveWineRepository;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DROP TABLE IF EXISTS wines").then().block();
+        databaseClient.sql("""
+                CREATE TABLE wines (id uuid PRIMARY KEY, name varchar(255), year integer, color varchar(255),
+                state varchar(255), winery varchar(255), kind varchar(255), sugar double precision,
+                alcohol double precision, country varchar(255), region varchar(255), score double precision,
+                description text, picture varchar(255), version bigint)""").then().block();
+        Flux.range(0, 6)
+                .concatMap(i -> databaseClient.sql("INSERT INTO wines VALUES (:id, :name, :year, :color, 'Dry', 'Winery', "
+                                + "'Merlot', 1.0, 13.0, 'Serbia', 'Srem', :score, 'desc', 'pic.jpg', 0)")
+                        .bind("id", UUID.randomUUID())
+                        .bind("name", "Wine " + i)
+                        .bind("year", 2000 + i)
+                        .bind("color", i % 2 == 0 ? "Red" : "White")
+                        .bind("score", 80.0 + i)
+                        .then())
+                .blockLast();
+
+        reactiveWineRepository = new ReactiveWineRepository(URL, "sa", "", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveWineRepository.destroy();
+    }
+
+    @Test
+    void testFindAll_AppliesSpecificationFiltersSortAndPage() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(null, " RE", null, null, null, null, null, 81.0, null, null, null);
+
+        List<WineResponseDTO> wines = reactiveWineRepository
+                .findAll(criteria, PageRequest.of(0, 2, Sort.by("score").descending()))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("Wine 4", "Wine 2"), wines.stream().map(WineResponseDTO::name).toList());
+        assertEquals(0L, wines.getFirst().version());
+    }
+
+    @Test
+    void testFindAll_MatchesLikeWildcardsLiterally() {
+        WineSearchCriteriaDTO underscore = new WineSearchCriteriaDTO("wine_", null, null, null, null, null, null, null, null, null, null);
+        WineSearchCriteriaDTO percent = new WineSearchCriteriaDTO("%", null, null, null, null, null, null, null, null, null, null);
+
+        assertEquals(0, reactiveWineRepository.findAll(underscore, PageRequest.of(0, 12)).count().block());
+        assertEquals(0, reactiveWineRepository.findAll(percent, PageRequest.of(0, 12)).count().block());
+    }
+
+    @Test
+    void testFindById_ReturnsEmptyForUnknownId() {
+        WineResponseDTO any = reactiveWineRepository.findAll(emptyCriteria(), PageRequest.of(0, 1)).blockFirst();
+
+        assertEquals(any, reactiveWineRepository.findById(UUID.fromString(any.id())).block());
+        assertNull(reactiveWineRepository.findById(UUID.randomUUID()).block());
+    }
+
+    @Test
+    void testFindAll_RejectsUnknownSortField() {
+        assertThrows(IllegalArgumentException.class, () -> reactiveWineRepository
+                .findAll(emptyCriteria(), PageRequest.of(0, 12, Sort.by("wines; DROP TABLE wines"))));
+    }
+
+    private static WineSearchCriteriaDTO emptyCriteria() {
+        return new WineSearchCriteriaDTO(null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
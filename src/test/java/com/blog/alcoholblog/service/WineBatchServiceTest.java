@@ -0,0 +1,144 @@
+package com.blog.alcoholblog.service;
+
+import com.blog.alcoholblog.dto.*;
+import com.blog.alcoholblog.event.WinesCreatedEvent;
+import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.services.WineBatchService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WineBatchServiceTest {
+
+    @Mock
+    private WineRepository wineRepository;
+
+    @Mock
+    private WineMapper wineMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WineBatchService wineBatchService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        wineBatchService = new WineBatchService(wineRepository, wineMapper, validator, entityManager,
+                eventPublisher, new TransactionTemplate(transactionManager), 2);
+    }
+
+    @Test
+    void testCreateWines_InsertsValidItemsInChunks() {
+        stubSaveAll();
+
+        BatchCreateResponseDTO response = wineBatchService.createWines(Stream.of(
+                request("A"), request("B"), request("C")
+        ));
+
+        assertEquals(3, response.received());
+        assertEquals(3, response.created());
+        assertEquals(0, response.failed());
+        assertEquals(List.of(0, 1, 2), response.results().stream().map(BatchItemResultDTO::index).toList());
+
+        verify(wineRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).clear();
+        ArgumentCaptor<WinesCreatedEvent> events = ArgumentCaptor.forClass(WinesCreatedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(2, 1), events.getAllValues().stream().map(event -> event.wines().size()).toList());
+    }
+
+    @Test
+    void testCreateWines_ReportsInvalidAndUnreadableItems() {
+        stubSaveAll();
+
+        BatchCreateResponseDTO response = wineBatchService.createWines(Stream.of(
+                request("A"), request(""), null, request("D")
+        ));
+
+        assertEquals(4, response.received());
+        assertEquals(2, response.created());
+        assertEquals(2, response.failed());
+
+        BatchItemResultDTO invalid = response.results().get(1);
+        assertEquals(BatchItemStatus.INVALID, invalid.status());
+        assertTrue(invalid.errors().containsKey("name"));
+        assertEquals(BatchItemStatus.INVALID, response.results().get(2).status());
+        assertEquals(BatchItemStatus.CREATED, response.results().get(3).status());
+    }
+
+    @Test
+    void testCreateWines_FailedChunkDoesNotStopLaterChunks() {
+        when(wineMapper.toWine(any())).thenReturn(new Wine());
+        when(wineRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate"))
+                .thenAnswer(invocation -> savedCopies(invocation.getArgument(0)));
+        when(wineMapper.toWineResponseDTO(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+
+        BatchCreateResponseDTO response = wineBatchService.createWines(Stream.of(
+                request("A"), request("B"), request("C")
+        ));
+
+        assertEquals(1, response.created());
+        assertEquals(BatchItemStatus.FAILED, response.results().get(0).status());
+        assertEquals(BatchItemStatus.FAILED, response.results().get(1).status());
+        assertEquals(BatchItemStatus.CREATED, response.results().get(2).status());
+        assertEquals(Map.of("error", WineBatchService.CONSTRAINT_VIOLATION), response.results().get(0).errors());
+    }
+
+    private void stubSaveAll() {
+        when(wineMapper.toWine(any())).thenReturn(new Wine());
+        when(wineRepository.saveAll(anyList())).thenAnswer(invocation -> savedCopies(invocation.getArgument(0)));
+        when(wineMapper.toWineResponseDTO(any())).thenAnswer(invocation -> response(invocation.getArgument(0)));
+    }
+
+    private static List<Wine> savedCopies(List<Wine> wines) {
+        List<Wine> saved = new ArrayList<>();
+        for (int i = 0; i < wines.size(); i++) {
+            Wine wine = new Wine();
+            wine.setId(UUID.randomUUID());
+            saved.add(wine);
+        }
+        return saved;
+    }
+
+    private static WineResponseDTO response(Wine wine) {
+        return new WineResponseDTO(wine.getId().toString(), "Wine", 2020, "Red", "Dry", "Winery",
+                "Merlot", 1.0, 13.5, "Serbia", "Vojvodina", 4.5, "Desc", "pic.jpg", 0L);
+    }
+
+    private static CreateWineRequestDTO request(String name) {
+        return new CreateWineRequestDTO(name, 2021, "Rose", "Semi-Dry", "Winery", "Pinot Noir",
+                0.75, 12.0, "Italy", "Tuscany", 4.3, "Description", "pic.jpg");
+    }
+}
@@ -0,0 +1,104 @@
+package com.blog.alcoholblog.service;
+
+import com.blog.alcoholblog.dto.ExportFormat;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.services.WineExportService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WineExportServiceTest {
+
+    @Mock
+    private WineRepository wineRepository;
+
+    @Mock
+    private WineMapper wineMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private WineExportService wineExportService;
+
+    private final WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+            null, null, null, null, null, null, null, null, null, null, null
+    );
+
+    @BeforeEach
+    void setUp() {
+        wineExportService = new WineExportService(wineRepository, wineMapper, entityManager, JsonMapper.builder().build());
+    }
+
+    @Test
+    void testExport_Ndjson_WritesOneObjectPerLineAndDetachesRows() throws IOException {
+        Wine wine1 = wine();
+        Wine wine2 = wine();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(wineRepository.streamAll(any(Specification.class), eq(Sort.by("id"))))
+                .thenReturn(Stream.of(wine1, wine2).onClose(() -> closed.set(true)));
+        when(wineMapper.toWineResponseDTO(any(Wine.class)))
+                .thenAnswer(invocation -> response(invocation.getArgument(0), "Merlot"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wineExportService.export(criteria, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"" + wine1.getId()));
+        assertTrue(closed.get());
+        verify(entityManager).detach(wine1);
+        verify(entityManager).detach(wine2);
+    }
+
+    @Test
+    void testExport_Csv_WritesHeaderAndQuotesSpecialCharacters() throws IOException {
+        Wine wine = wine();
+
+        when(wineRepository.streamAll(any(Specification.class), any(Sort.class))).thenReturn(Stream.of(wine));
+        when(wineMapper.toWineResponseDTO(wine)).thenReturn(response(wine, "Red, \"Reserve\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        wineExportService.export(criteria, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,name,year"));
+        assertEquals(wine.getId() + ",\"Red, \"\"Reserve\"\"\",2020,Red,Dry,Winery,Merlot,1.0,13.5,Serbia,Vojvodina,4.5,Desc,pic.jpg,0",
+                lines[1]);
+    }
+
+    private static Wine wine() {
+        Wine wine = new Wine();
+        wine.setId(UUID.randomUUID());
+        return wine;
+    }
+
+    private static WineResponseDTO response(Wine wine, String name) {
+        return new WineResponseDTO(wine.getId().toString(), name, 2020, "Red", "Dry", "Winery",
+                "Merlot", 1.0, 13.5, "Serbia", "Vojvodina", 4.5, "Desc", "pic.jpg", 0L);
+    }
+}
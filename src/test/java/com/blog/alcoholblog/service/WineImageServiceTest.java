@@ -0,0 +1,136 @@
+package com.blog.alcoholblog.service;
+
+import com.blog.alcoholblog.dto.ImageSize;
+import com.blog.alcoholblog.dto.UpdateWineRequestDTO;
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.exception.ImageNotFoundException;
+import com.blog.alcoholblog.exception.InvalidImageException;
+import com.blog.alcoholblog.services.WineImageService;
+import com.blog.alcoholblog.services.WineService;
+import com.blog.alcoholblog.storage.ImageStorage;
+import com.blog.alcoholblog.storage.ImageStorage.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WineImageServiceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private WineService wineService;
+
+    private ImageStorage imageStorage;
+    private final List<Runnable> queued = new ArrayList<>();
+    private WineImageService wineImageService;
+
+    private final UUID wineId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStorage = new ImageStorage(directory);
+        wineImageService = new WineImageService(wineService, imageStorage, queued::add);
+    }
+
+    @Test
+    void upload_StoresOriginalAndRendersThumbnailsInBackground() throws IOException {
+        when(wineService.updateWine(eq(wineId), any(), isNull())).thenAnswer(invocation -> wine(invocation.getArgument(1)));
+
+        WineResponseDTO wine = wineImageService.upload(wineId, MediaType.IMAGE_PNG, new ByteArrayInputStream(png(2000, 1000)));
+
+        String key = wine.picture().substring(ImageSize.URL_PREFIX.length());
+        assertTrue(ImageStorage.isValidKey(key));
+        assertEquals("/images/" + key + "/small", wine.thumbnails().get("small"));
+        assertTrue(imageStorage.exists(key, ImageSize.ORIGINAL));
+        assertFalse(imageStorage.exists(key, ImageSize.SMALL));
+
+        queued.forEach(Runnable::run);
+
+        assertDimensions(imageStorage.find(key, ImageSize.SMALL).orElseThrow(), 160, 80);
+        assertDimensions(imageStorage.find(key, ImageSize.MEDIUM).orElseThrow(), 480, 240);
+        assertDimensions(imageStorage.find(key, ImageSize.LARGE).orElseThrow(), 1024, 512);
+        assertEquals(MediaType.IMAGE_PNG, imageStorage.find(key, ImageSize.ORIGINAL).orElseThrow().mediaType());
+    }
+
+    @Test
+    void upload_WithBytesThatAreNotAnImage_ThrowsInvalidImage() {
+        byte[] garbage = "not a picture".getBytes();
+
+        assertThrows(InvalidImageException.class,
+                () -> wineImageService.upload(wineId, MediaType.IMAGE_JPEG, new ByteArrayInputStream(garbage)));
+        verify(wineService, never()).updateWine(any(), any(), any());
+    }
+
+    @Test
+    void upload_WithUnsupportedContentType_ThrowsInvalidImage() {
+        assertThrows(InvalidImageException.class,
+                () -> wineImageService.upload(wineId, MediaType.IMAGE_GIF, new ByteArrayInputStream(new byte[]{1})));
+    }
+
+    @Test
+    void find_WithThumbnailNotYetRendered_ServesOriginalAndQueuesResizeOnce() throws IOException {
+        ArgumentCaptor<UpdateWineRequestDTO> patch = ArgumentCaptor.forClass(UpdateWineRequestDTO.class);
+        when(wineService.updateWine(eq(wineId), patch.capture(), isNull())).thenAnswer(invocation -> wine(invocation.getArgument(1)));
+        wineImageService.upload(wineId, MediaType.IMAGE_PNG, new ByteArrayInputStream(png(300, 300)));
+        String key = patch.getValue().picture().substring(ImageSize.URL_PREFIX.length());
+
+        StoredImage image = wineImageService.find(key, ImageSize.SMALL);
+        wineImageService.find(key, ImageSize.MEDIUM);
+
+        assertEquals(ImageSize.ORIGINAL, image.size());
+        assertEquals(1, queued.size());
+
+        queued.getFirst().run();
+        assertEquals(ImageSize.SMALL, wineImageService.find(key, ImageSize.SMALL).size());
+        // Never upscaled
+        assertDimensions(wineImageService.find(key, ImageSize.LARGE), 300, 300);
+    }
+
+    @Test
+    void find_WithUnknownKey_ThrowsImageNotFound() {
+        assertThrows(ImageNotFoundException.class, () -> wineImageService.find("0".repeat(64), ImageSize.SMALL));
+        assertThrows(ImageNotFoundException.class, () -> wineImageService.find("../../etc/passwd", ImageSize.ORIGINAL));
+    }
+
+    private static void assertDimensions(StoredImage image, int width, int height) throws IOException {
+        BufferedImage decoded = ImageIO.read(Files.newInputStream(image.path()));
+        assertEquals(width, decoded.getWidth());
+        assertEquals(height, decoded.getHeight());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private WineResponseDTO wine(UpdateWineRequestDTO patch) {
+        return new WineResponseDTO(wineId.toString(), "Wine", 2020, "Red", "Dry", "Winery", "Merlot", 1.0, 13.0,
+                "Serbia", "Srem", 90.0, "desc", patch.picture(), 1L);
+    }
+}
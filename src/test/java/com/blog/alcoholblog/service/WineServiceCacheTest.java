@@ -0,0 +1,179 @@
+package com.blog.alcoholblog.service;
+
+import com.blog.alcoholblog.cache.CatalogVersion;
+import com.blog.alcoholblog.config.CacheConfig;
+import com.blog.alcoholblog.dto.*;
+import com.blog.alcoholblog.index.ColumnarCatalog;
+import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.metrics.QueryLog;
+import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.services.WineCountService;
+import com.blog.alcoholblog.services.WineService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.cache.autoconfigure.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, CatalogVersion.class, ColumnarCatalog.class, QueryLog.class, WineService.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class WineServiceCacheTest {
+
+    @Autowired
+    private WineService wineService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private WineRepository wineRepository;
+
+    @MockitoBean
+    private WineMapper wineMapper;
+
+    @MockitoBean
+    private WineCountService wineCountService;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(CacheConfig.WINES).clear();
+        cacheManager.getCache(CacheConfig.WINE_PAGES).clear();
+    }
+
+    @Test
+    void testGetWineById_SecondCallServedFromCache() {
+        UUID wineId = UUID.randomUUID();
+        Wine wine = new Wine();
+        wine.setId(wineId);
+        WineResponseDTO response = response(wineId, "Cached");
+
+        when(wineRepository.findById(wineId)).thenReturn(Optional.of(wine));
+        when(wineMapper.toWineResponseDTO(wine)).thenReturn(response);
+
+        assertEquals(response, wineService.getWineById(wineId));
+        assertEquals(response, wineService.getWineById(wineId));
+
+        verify(wineRepository, times(1)).findById(wineId);
+        verify(wineMapper, times(1)).toWineResponseDTO(wine);
+    }
+
+    @Test
+    void testUpdateWine_RefreshesCachedEntry() {
+        UUID wineId = UUID.randomUUID();
+        Wine wine = new Wine();
+        wine.setId(wineId);
+
+        when(wineRepository.findById(wineId)).thenReturn(Optional.of(wine));
+        when(wineRepository.updateFields(eq(wineId), any(), eq(null))).thenReturn(Optional.of(wine));
+        when(wineMapper.toWineResponseDTO(wine)).thenReturn(response(wineId, "Old"), response(wineId, "New"));
+
+        wineService.getWineById(wineId);
+        wineService.updateWine(wineId, new UpdateWineRequestDTO(
+                "New", null, null, null, null, null, null, null, null, null, null, null, null), null);
+
+        assertEquals("New", wineService.getWineById(wineId).name());
+        verify(wineMapper, times(2)).toWineResponseDTO(wine);
+    }
+
+    @Test
+    void testDeleteWine_EvictsCachedEntry() {
+        UUID wineId = UUID.randomUUID();
+        Wine wine = new Wine();
+        wine.setId(wineId);
+
+        when(wineRepository.findById(wineId)).thenReturn(Optional.of(wine));
+        when(wineMapper.toWineResponseDTO(any(Wine.class))).thenReturn(response(wineId, "Gone"));
+        when(wineRepository.deleteByIdReturningCount(wineId)).thenReturn(1);
+
+        wineService.getWineById(wineId);
+        wineService.deleteWineById(wineId);
+
+        assertNull(cacheManager.getCache(CacheConfig.WINES).get(wineId));
+    }
+
+    @Test
+    void testGetAllWines_NormalizedCriteriaShareCachedPage() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by("score").descending());
+        when(wineRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+        when(wineMapper.toWineResponseDTOList(List.of())).thenReturn(List.of());
+
+        wineService.getAllWines(pageable, criteria(" Red "), TotalsMode.EXACT);
+        wineService.getAllWines(pageable, criteria("red"), TotalsMode.EXACT);
+
+        verify(wineRepository, times(1)).findAll(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    void testGetAllWines_WriteInvalidatesCachedPages() {
+        Pageable pageable = PageRequest.of(0, 12);
+        when(wineRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(), pageable, 0));
+        when(wineMapper.toWineResponseDTOList(List.of())).thenReturn(List.of());
+
+        UUID wineId = UUID.randomUUID();
+        when(wineRepository.deleteByIdReturningCount(wineId)).thenReturn(1);
+
+        wineService.getAllWines(pageable, criteria("red"), TotalsMode.EXACT);
+        wineService.deleteWineById(wineId);
+        wineService.getAllWines(pageable, criteria("red"), TotalsMode.EXACT);
+
+        verify(wineRepository, times(2)).findAll(any(Specification.class), eq(pageable));
+    }
+
+    private static WineSearchCriteriaDTO criteria(String color) {
+        return new WineSearchCriteriaDTO(null, color, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    void testGetWinesByIds_QueriesOnlyUncachedWinesAndKeepsOrder() {
+        UUID cachedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        Wine missing = new Wine();
+        missing.setId(missingId);
+        cacheManager.getCache(CacheConfig.WINES).put(cachedId, response(cachedId, "Cached"));
+
+        when(wineRepository.findAllById(List.of(missingId, deletedId))).thenReturn(List.of(missing));
+        when(wineMapper.toWineResponseDTO(missing)).thenReturn(response(missingId, "Loaded"));
+
+        List<WineResponseDTO> wines = wineService.getWinesByIds(List.of(missingId, deletedId, cachedId));
+
+        assertEquals(List.of("Loaded", "Cached"), wines.stream().map(WineResponseDTO::name).toList());
+        assertEquals("Loaded", cacheManager.getCache(CacheConfig.WINES).get(missingId, WineResponseDTO.class).name());
+    }
+
+    @Test
+    void testGetWinesByIds_FetchesMissingWinesInBoundedChunks() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID)
+                .limit(2L * WineService.MAX_IDS_PER_QUERY + 1).toList();
+
+        assertEquals(List.of(), wineService.getWinesByIds(ids));
+
+        verify(wineRepository).findAllById(ids.subList(0, WineService.MAX_IDS_PER_QUERY));
+        verify(wineRepository).findAllById(ids.subList(WineService.MAX_IDS_PER_QUERY, 2 * WineService.MAX_IDS_PER_QUERY));
+        verify(wineRepository).findAllById(ids.subList(2 * WineService.MAX_IDS_PER_QUERY, ids.size()));
+    }
+
+    private static WineResponseDTO response(UUID id, String name) {
+        return new WineResponseDTO(id.toString(), name, 2020, "Red", "Dry", "Winery",
+                "Merlot", 1.0, 13.5, "Serbia", "Vojvodina", 4.5, "Desc", "pic.jpg", 0L);
+    }
+}
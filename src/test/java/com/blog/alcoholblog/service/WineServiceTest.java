@@ -1,20 +1,32 @@
 package com.blog.alcoholblog.service;
 
 import com.blog.alcoholblog.dto.*;
+import com.blog.alcoholblog.event.WineChangedEvent;
 import com.blog.alcoholblog.exception.WineNotFoundException;
+import com.blog.alcoholblog.exception.PreconditionFailedException;
+import com.blog.alcoholblog.index.ColumnarCatalog;
 import com.blog.alcoholblog.mapper.WineMapper;
+import com.blog.alcoholblog.metrics.QueryLog;
 import com.blog.alcoholblog.model.Wine;
+import com.blog.alcoholblog.pagination.WineCursor;
 import com.blog.alcoholblog.repository.WineRepository;
+import com.blog.alcoholblog.services.WineCountService;
 import com.blog.alcoholblog.services.WineService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,6 +44,21 @@ class WineServiceTest {
     @Mock
     private WineMapper wineMapper;
 
+    @Mock
+    private WineCountService wineCountService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ColumnarCatalog columnarCatalog;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private QueryLog queryLog = new QueryLog(10, Duration.ofSeconds(10));
+
     @InjectMocks
     private WineService wineService;
 
@@ -44,7 +71,7 @@ class WineServiceTest {
 
         WineResponseDTO expectedResponse = new WineResponseDTO(
                 wineId.toString(), "Test Wine", 2020, "Red", "Dry", "Winery",
-                "Merlot", 1.0, 13.5, "Serbia", "Vojvodina", 4.5, "Desc", "pic.jpg"
+                "Merlot", 1.0, 13.5, "Serbia", "Vojvodina", 4.5, "Desc", "pic.jpg", 0L
         );
 
         when(wineRepository.findById(wineId)).thenReturn(Optional.of(wine));
@@ -115,12 +142,12 @@ class WineServiceTest {
 
         WineResponseDTO response1 = new WineResponseDTO(
                 wine1.getId().toString(), "Test Wine 1", 2020, "Red", "Dry", "Test Winery",
-                "Merlot", 1.0, 13.5, "France", "Bordeaux", 4.5, "Desc", "pic1.jpg"
+                "Merlot", 1.0, 13.5, "France", "Bordeaux", 4.5, "Desc", "pic1.jpg", 0L
         );
 
         WineResponseDTO response2 = new WineResponseDTO(
                 wine2.getId().toString(), "Test Wine 2", 2020, "Red", "Dry", "Test Winery",
-                "Cabernet", 0.75, 14.0, "France", "Bordeaux", 4.2, "Desc2", "pic2.jpg"
+                "Cabernet", 0.75, 14.0, "France", "Bordeaux", 4.2, "Desc2", "pic2.jpg", 0L
         );
 
         List<WineResponseDTO> expectedResponses = List.of(response1, response2);
@@ -182,7 +209,7 @@ class WineServiceTest {
 
         WineResponseDTO expectedResponse = new WineResponseDTO(
                 wine.getId().toString(), "Merlot Reserve", 2020, "Red", "Dry", "French Winery",
-                "Merlot", 0.75, 13.0, "France", "Bordeaux", 4.3, "Description", "pic.jpg"
+                "Merlot", 0.75, 13.0, "France", "Bordeaux", 4.3, "Description", "pic.jpg", 0L
         );
 
         when(wineRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(winePage);
@@ -228,12 +255,12 @@ class WineServiceTest {
 
         WineResponseDTO response1 = new WineResponseDTO(
                 wine1.getId().toString(), "Wine 1", 2020, "Red", "Dry", "Winery1",
-                "Merlot", 1.0, 13.5, "Country1", "Region1", 4.5, "Desc1", "pic1.jpg"
+                "Merlot", 1.0, 13.5, "Country1", "Region1", 4.5, "Desc1", "pic1.jpg", 0L
         );
 
         WineResponseDTO response2 = new WineResponseDTO(
                 wine2.getId().toString(), "Wine 2", 2019, "White", "Sweet", "Winery2",
-                "Chardonnay", 0.75, 12.5, "Country2", "Region2", 4.2, "Desc2", "pic2.jpg"
+                "Chardonnay", 0.75, 12.5, "Country2", "Region2", 4.2, "Desc2", "pic2.jpg", 0L
         );
 
         List<WineResponseDTO> expectedResponses = List.of(response1, response2);
@@ -281,9 +308,9 @@ class WineServiceTest {
         when(wineRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(winePage);
         when(wineMapper.toWineResponseDTOList(allWines)).thenReturn(List.of(
                 new WineResponseDTO(wine1.getId().toString(), "Wine 1", 2020, "Red", "Dry", "W1",
-                        "Merlot", 1.0, 13.0, "C1", "R1", 4.0, "D1", "P1"),
+                        "Merlot", 1.0, 13.0, "C1", "R1", 4.0, "D1", "P1", 0L),
                 new WineResponseDTO(wine2.getId().toString(), "Wine 2", 2019, "White", "Sweet", "W2",
-                        "Chardonnay", 0.75, 12.0, "C2", "R2", 4.2, "D2", "P2")
+                        "Chardonnay", 0.75, 12.0, "C2", "R2", 4.2, "D2", "P2", 0L)
         ));
 
         // When
@@ -329,6 +356,215 @@ class WineServiceTest {
         verify(wineMapper, times(1)).toWineResponseDTOList(List.of());
     }
 
+    @Test
+    void testGetAllWines_TotalsNone_SkipsCount() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+                null, "red", null, null, null, null, null, null, null, null, null
+        );
+        Pageable pageable = PageRequest.of(1, 2);
+
+        Wine wine1 = new Wine();
+        wine1.setId(UUID.randomUUID());
+        Wine wine2 = new Wine();
+        wine2.setId(UUID.randomUUID());
+
+        List<Wine> wines = List.of(wine1, wine2);
+        Slice<Wine> wineSlice = new SliceImpl<>(wines, pageable, true);
+
+        when(wineRepository.findBy(any(Specification.class), any())).thenReturn(wineSlice);
+        when(wineMapper.toWineResponseDTOList(wines)).thenReturn(List.of());
+
+        PageResponseDTO<WineResponseDTO> result = wineService.getAllWines(pageable, criteria, TotalsMode.NONE);
+
+        assertEquals(2, result.currentPage());
+        assertTrue(result.hasNext());
+        assertNull(result.totalElements());
+        assertNull(result.totalPages());
+        assertEquals(TotalsMode.NONE, result.totals());
+
+        verify(wineRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(wineRepository, never()).count(any(Specification.class));
+        verifyNoInteractions(wineCountService);
+    }
+
+    @Test
+    void testGetAllWines_InMemoryPageWithTotalsNone_LeavesTotalsOut() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+                null, "red", null, null, null, null, null, null, null, null, null
+        );
+        Pageable pageable = PageRequest.of(0, 2);
+        when(columnarCatalog.search(criteria, pageable))
+                .thenReturn(Optional.of(new ColumnarCatalog.ColumnarPage(List.of(), 5)));
+
+        PageResponseDTO<WineResponseDTO> result = wineService.getAllWines(pageable, criteria, TotalsMode.NONE);
+
+        assertTrue(result.hasNext());
+        assertNull(result.totalElements());
+        assertNull(result.totalPages());
+        assertEquals(TotalsMode.NONE, result.totals());
+        verifyNoInteractions(wineCountService);
+    }
+
+    @Test
+    void testGetAllWines_TotalsEstimated_UsesEstimatedCount() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+                null, null, null, null, null, null, null, null, null, null, null
+        );
+        Pageable pageable = PageRequest.of(0, 10);
+
+        Wine wine = new Wine();
+        wine.setId(UUID.randomUUID());
+        Slice<Wine> wineSlice = new SliceImpl<>(List.of(wine), pageable, true);
+
+        when(wineRepository.findBy(any(Specification.class), any())).thenReturn(wineSlice);
+        when(wineCountService.estimateCount(criteria)).thenReturn(95L);
+
+        PageResponseDTO<WineResponseDTO> result = wineService.getAllWines(pageable, criteria, TotalsMode.ESTIMATED);
+
+        assertEquals(95L, result.totalElements());
+        assertEquals(10, result.totalPages());
+        assertEquals(TotalsMode.ESTIMATED, result.totals());
+        verify(wineRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllWines_TotalsEstimated_NeverBelowRowsAlreadySeen() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+                "merlot", null, null, null, null, null, null, null, null, null, null
+        );
+        Pageable pageable = PageRequest.of(4, 10);
+
+        Wine wine = new Wine();
+        wine.setId(UUID.randomUUID());
+        Slice<Wine> wineSlice = new SliceImpl<>(List.of(wine), pageable, false);
+
+        when(wineRepository.findBy(any(Specification.class), any())).thenReturn(wineSlice);
+        when(wineCountService.estimateCount(criteria)).thenReturn(12L);
+
+        PageResponseDTO<WineResponseDTO> result = wineService.getAllWines(pageable, criteria, TotalsMode.ESTIMATED);
+
+        assertEquals(41L, result.totalElements());
+        assertEquals(5, result.totalPages());
+    }
+
+    @Test
+    void testGetAllWineFields_Exact_SelectsOnlyRequestedFields() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+                null, null, null, null, null, null, null, null, null, null, null
+        );
+        Pageable pageable = PageRequest.of(0, 2);
+        List<String> fields = List.of("id", "name");
+
+        List<Map<String, Object>> rows = List.of(
+                Map.of("id", UUID.randomUUID().toString(), "name", "Wine 1"),
+                Map.of("id", UUID.randomUUID().toString(), "name", "Wine 2")
+        );
+
+        when(wineRepository.findFields(any(Specification.class), eq(pageable), eq(fields)))
+                .thenReturn(new SliceImpl<>(rows, pageable, true));
+        when(wineRepository.count(any(Specification.class))).thenReturn(7L);
+
+        PageResponseDTO<Map<String, Object>> result = wineService.getAllWineFields(pageable, criteria, TotalsMode.EXACT, fields);
+
+        assertEquals(rows, result.content());
+        assertEquals(7L, result.totalElements());
+        assertEquals(4, result.totalPages());
+        assertTrue(result.hasNext());
+        verifyNoInteractions(wineMapper);
+        verify(wineRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllWineFields_ShortFirstPage_SkipsCount() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+                null, null, null, null, null, null, null, null, null, null, null
+        );
+        Pageable pageable = PageRequest.of(0, 12);
+        List<Map<String, Object>> rows = List.of(Map.of("name", "Only Wine"));
+
+        when(wineRepository.findFields(any(Specification.class), eq(pageable), any()))
+                .thenReturn(new SliceImpl<>(rows, pageable, false));
+
+        PageResponseDTO<Map<String, Object>> result = wineService.getAllWineFields(pageable, criteria, TotalsMode.EXACT, List.of("name"));
+
+        assertEquals(1L, result.totalElements());
+        assertEquals(1, result.totalPages());
+        verify(wineRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testGetFacets_SortsValuesByCountAndSumsTotal() {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(
+                null, null, null, null, "France", null, null, null, null, null, null
+        );
+        List<String> facets = List.of("color", "year");
+
+        Map<String, Map<Object, Long>> counts = new LinkedHashMap<>();
+        counts.put("color", Map.of("White", 3L, "Red", 5L, "Rose", 3L));
+        counts.put("year", Map.of(2019, 6L, 2020, 5L));
+        when(wineRepository.countFacets(any(Specification.class), eq(facets))).thenReturn(counts);
+
+        FacetsResponseDTO result = wineService.getFacets(criteria, facets);
+
+        assertEquals(11, result.totalElements());
+        assertEquals(List.of(
+                new FacetCountDTO("Red", 5L),
+                new FacetCountDTO("Rose", 3L),
+                new FacetCountDTO("White", 3L)
+        ), result.facets().get("color"));
+        assertEquals(List.of(new FacetCountDTO(2019, 6L), new FacetCountDTO(2020, 5L)), result.facets().get("year"));
+        verify(wineRepository, times(1)).countFacets(any(Specification.class), eq(facets));
+    }
+
+    @Test
+    void testGetWinesByCursor_HasNext_ReturnsCursorForLastRow() {
+        Sort sort = Sort.by("score").descending();
+
+        Wine wine1 = new Wine();
+        wine1.setId(UUID.randomUUID());
+        wine1.setScore(4.8);
+
+        Wine wine2 = new Wine();
+        wine2.setId(UUID.randomUUID());
+        wine2.setScore(4.5);
+
+        List<Wine> wines = List.of(wine1, wine2);
+        Window<Wine> window = Window.from(wines,
+                index -> ScrollPosition.forward(Map.of("score", wines.get(index).getScore(), "id", wines.get(index).getId())),
+                true);
+
+        when(wineRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(wineMapper.toWineResponseDTOList(wines)).thenReturn(List.of());
+
+        CursorPageResponseDTO<WineResponseDTO> result = wineService.getWinesByCursor(WineCursor.first(sort), 2,
+                new WineSearchCriteriaDTO(null, "red", null, null, null, null, null, null, null, null, null));
+
+        assertTrue(result.hasNext());
+        assertEquals(2, result.size());
+
+        WineCursor next = WineCursor.decode(result.nextCursor());
+        assertEquals(sort, next.sort());
+        assertEquals(4.5, next.position().getKeys().get("score"));
+        assertEquals(wine2.getId(), next.position().getKeys().get("id"));
+        verify(wineRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void testGetWinesByCursor_LastPage_HasNoCursor() {
+        Window<Wine> window = Window.from(List.of(), index -> ScrollPosition.keyset(), false);
+
+        when(wineRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(wineMapper.toWineResponseDTOList(List.of())).thenReturn(List.of());
+
+        CursorPageResponseDTO<WineResponseDTO> result = wineService.getWinesByCursor(
+                WineCursor.first(Sort.by("name").ascending()), 12,
+                new WineSearchCriteriaDTO(null, null, null, null, null, null, null, null, null, null, null));
+
+        assertFalse(result.hasNext());
+        assertNull(result.nextCursor());
+        assertTrue(result.content().isEmpty());
+    }
+
     @Test
     void testCreateWine_Success() {
         CreateWineRequestDTO requestDTO = new CreateWineRequestDTO(
@@ -346,7 +582,7 @@ class WineServiceTest {
 
         WineResponseDTO expectedResponse = new WineResponseDTO(
                 savedId.toString(), "New Wine", 2021, "Rose", "Semi-Dry", "New Winery",
-                "Pinot Noir", 0.75, 12.0, "Italy", "Tuscany", 4.3, "New description", "new_pic.jpg"
+                "Pinot Noir", 0.75, 12.0, "Italy", "Tuscany", 4.3, "New description", "new_pic.jpg", 0L
         );
 
         when(wineMapper.toWine(requestDTO)).thenReturn(wineToSave);
@@ -362,66 +598,51 @@ class WineServiceTest {
         verify(wineMapper, times(1)).toWine(requestDTO);
         verify(wineRepository, times(1)).save(wineToSave);
         verify(wineMapper, times(1)).toWineResponseDTO(savedWine);
+        verify(eventPublisher).publishEvent(new WineChangedEvent(savedId, expectedResponse));
     }
 
     @Test
     void testUpdateWine_Success() {
         UUID wineId = UUID.randomUUID();
 
-        Wine existingWine = new Wine();
-        existingWine.setId(wineId);
-        existingWine.setName("Old Name");
-
         UpdateWineRequestDTO dto = new UpdateWineRequestDTO(
                 "New Name",
                 null, null, null, null,
                 null, null, null, null,
-                null, null, null,
+                null, 4.8, null,
                 null
         );
 
-        when(wineRepository.findById(wineId))
-                .thenReturn(Optional.of(existingWine));
-
-        doAnswer(invocation -> {
-            UpdateWineRequestDTO src = invocation.getArgument(0);
-            Wine tgt = invocation.getArgument(1);
-
-            if (src.name() != null) tgt.setName(src.name());
+        Wine updatedWine = new Wine();
+        updatedWine.setId(wineId);
+        updatedWine.setName("New Name");
+        updatedWine.setVersion(1L);
 
-            return null;
-        }).when(wineMapper).updateWineFromDTO(any(), any());
-
-        Wine savedWine = new Wine();
-        savedWine.setId(wineId);
-        savedWine.setName("New Name");
-
-        when(wineRepository.save(existingWine)).thenReturn(savedWine);
+        when(wineRepository.updateFields(wineId, Map.of("name", "New Name", "score", 4.8), null))
+                .thenReturn(Optional.of(updatedWine));
 
         WineResponseDTO updatedDto = new WineResponseDTO(
                 wineId.toString(),
                 "New Name",
                 null, null, null, null, null,
-                null, null, null, null, null,
-                null, null
+                null, null, null, null, 4.8,
+                null, null, 1L
         );
 
-        when(wineMapper.toWineResponseDTO(savedWine))
+        when(wineMapper.toWineResponseDTO(updatedWine))
                 .thenReturn(updatedDto);
 
-        WineResponseDTO result = wineService.updateWine(wineId, dto);
+        WineResponseDTO result = wineService.updateWine(wineId, dto, null);
 
         assertNotNull(result);
         assertEquals("New Name", result.name());
 
-        verify(wineRepository).findById(wineId);
-        verify(wineMapper).updateWineFromDTO(dto, existingWine);
-        verify(wineRepository).save(existingWine);
-        verify(wineMapper).toWineResponseDTO(savedWine);
+        verify(wineRepository, never()).findById(any());
+        verify(wineRepository, never()).save(any());
+        verify(wineMapper).toWineResponseDTO(updatedWine);
+        verify(eventPublisher).publishEvent(new WineChangedEvent(wineId, updatedDto));
     }
 
-
-
     @Test
     void testUpdateWine_NotFound() {
         UUID wineId = UUID.randomUUID();
@@ -434,15 +655,55 @@ class WineServiceTest {
                 null
         );
 
-        when(wineRepository.findById(wineId)).thenReturn(Optional.empty());
+        when(wineRepository.updateFields(eq(wineId), any(), eq(null))).thenReturn(Optional.empty());
+        when(wineRepository.existsById(wineId)).thenReturn(false);
 
         assertThrows(WineNotFoundException.class,
-                () -> wineService.updateWine(wineId, dto)
+                () -> wineService.updateWine(wineId, dto, null)
         );
 
-        verify(wineRepository).findById(wineId);
-        verify(wineMapper, never()).updateWineFromDTO(any(), any());
-        verify(wineRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateWine_StaleVersion() {
+        UUID wineId = UUID.randomUUID();
+
+        UpdateWineRequestDTO dto = new UpdateWineRequestDTO(
+                "New name",
+                null, null, null, null, null,
+                null, null, null, null,
+                null, null,
+                null
+        );
+
+        when(wineRepository.updateFields(wineId, Map.of("name", "New name"), 2L)).thenReturn(Optional.empty());
+        when(wineRepository.existsById(wineId)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> wineService.updateWine(wineId, dto, 2L)
+        );
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateWine_EmptyPatchWritesNothing() {
+        UUID wineId = UUID.randomUUID();
+        Wine existingWine = new Wine();
+        existingWine.setId(wineId);
+        existingWine.setVersion(3L);
+
+        UpdateWineRequestDTO dto = new UpdateWineRequestDTO(
+                null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+        when(wineRepository.findById(wineId)).thenReturn(Optional.of(existingWine));
+
+        wineService.updateWine(wineId, dto, 3L);
+
+        verify(wineRepository, never()).updateFields(any(), any(), any());
+        verify(wineMapper).toWineResponseDTO(existingWine);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -454,6 +715,7 @@ class WineServiceTest {
         assertDoesNotThrow(() -> wineService.deleteWineById(wineId));
 
         verify(wineRepository, times(1)).deleteByIdReturningCount(wineId);
+        verify(eventPublisher).publishEvent(WineChangedEvent.deleted(wineId));
     }
 
     @Test
@@ -468,5 +730,6 @@ class WineServiceTest {
         assertTrue(exception.getMessage().contains(wineId.toString()));
 
         verify(wineRepository, times(1)).deleteByIdReturningCount(wineId);
+        verifyNoInteractions(eventPublisher);
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.blog.alcoholblog.specification;
+
+import com.blog.alcoholblog.dto.WineResponseDTO;
+import com.blog.alcoholblog.dto.WineSearchCriteriaDTO;
+import com.blog.alcoholblog.index.ColumnarCatalog;
+import com.blog.alcoholblog.model.Wine;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WineSpecificationTest {
+
+    private static final List<String> REGIONS = List.of("100% Srem", "100 Srem", "Srem_Hills", "SremXHills", "Back\\slash");
+
+    private static SessionFactory sessionFactory;
+    private static final ColumnarCatalog catalog = new ColumnarCatalog(true);
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Wine.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:wine_specification;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            for (String region : REGIONS) {
+                Wine wine = Wine.builder().name("Wine").year(2020).color("Red").state("Dry").winery("Winery")
+                        .kind("Merlot").sugar(1.0).alcohol(13.0).country("Serbia").region(region).score(80.0)
+                        .description("desc").picture("p.jpg").build();
+                session.persist(wine);
+                catalog.put(new WineResponseDTO(wine.getId().toString(), "Wine", 2020, "Red", "Dry", "Winery", "Merlot",
+                        1.0, 13.0, "Serbia", region, 80.0, "desc", "p.jpg", 0L));
+            }
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void testWineSpecification_TreatsLikeWildcardsLiterallyAsTheColumnarCatalogDoes() {
+        assertRegions("100%", Set.of("100% Srem"));
+        assertRegions("m_h", Set.of("Srem_Hills"));
+        assertRegions("_", Set.of("Srem_Hills"));
+        assertRegions("k\\s", Set.of("Back\\slash"));
+        assertRegions("srem", Set.of("100% Srem", "100 Srem", "Srem_Hills", "SremXHills"));
+    }
+
+    private static void assertRegions(String filter, Set<String> expected) {
+        WineSearchCriteriaDTO criteria = new WineSearchCriteriaDTO(null, null, null, null, null, filter,
+                null, null, null, null, null);
+
+        List<Wine> wines = sessionFactory.fromSession(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<Wine> query = cb.createQuery(Wine.class);
+            Root<Wine> root = query.from(Wine.class);
+            query.where(WineSpecification.wineSpecification(criteria).toPredicate(root, query, cb));
+            return session.createQuery(query).getResultList();
+        });
+        assertEquals(expected, wines.stream().map(Wine::getRegion).collect(Collectors.toSet()), "database, " + filter);
+
+        Set<UUID> ids = wines.stream().map(Wine::getId).collect(Collectors.toSet());
+        List<UUID> columnar = catalog.search(criteria, PageRequest.of(0, 10, Sort.by("score"))).orElseThrow().ids();
+        assertEquals(ids, Set.copyOf(columnar), "columnar catalog, " + filter);
+    }
+}